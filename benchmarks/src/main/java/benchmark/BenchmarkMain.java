@@ -0,0 +1,28 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * BenchmarkMain - Entry point benchmarks.jar
+ *
+ * Sama dengan org.openjdk.jmh.Main, tapi profiler alokasi (-prof gc) selalu
+ * aktif sehingga setiap hasil membawa gc.alloc.rate.norm (byte per operasi),
+ * dan fork berjalan headless (asset gambar di-load tanpa display).
+ * Semua argumen JMH biasa tetap berlaku, misalnya:
+ *   java -jar benchmarks/target/benchmarks.jar IkanViewModelBenchmark -p fishCount=1000
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Djava.awt.headless=true")
+                .build();
+        new Runner(options).run();
+    }
+}
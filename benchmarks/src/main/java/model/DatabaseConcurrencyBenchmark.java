@@ -0,0 +1,87 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DatabaseConcurrencyBenchmark - DatabaseManager dengan penulis bersamaan
+ *
+ * - writers: 4 thread recordGameScore bersamaan
+ * - mixed: 3 thread recordGameScore + 1 thread getTopPlayers (leaderboard)
+ * Setiap connection SQLite mengunci file saat menulis, jadi selain latency
+ * juga dihitung berapa tulis yang gagal (misalnya "database is locked").
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseConcurrencyBenchmark {
+    @Param({"10000", "100000"})
+    public int playerCount;
+
+    private DatabaseManager databaseManager;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        DatabaseFixtures.silenceStdout();
+        databaseManager = DatabaseFixtures.open(playerCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        DatabaseFixtures.delete(databaseManager);
+    }
+
+    // Hasil tulis per thread, dilaporkan JMH sebagai counter tambahan
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteOutcome {
+        final Random random = new Random(DatabaseFixtures.SEED ^ Thread.currentThread().getId());
+        public long writeOk;
+        public long writeFailed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            writeOk = 0;
+            writeFailed = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("writers")
+    @GroupThreads(4)
+    public boolean writersRecord(WriteOutcome outcome) {
+        return record(outcome);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public boolean mixedRecord(WriteOutcome outcome) {
+        return record(outcome);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public List<DatabaseManager.Player> mixedLeaderboard() {
+        return databaseManager.getTopPlayers(20);
+    }
+
+    private boolean record(WriteOutcome outcome) {
+        String name = DatabaseFixtures.playerName(outcome.random.nextInt(playerCount));
+        boolean ok = databaseManager.recordGameScore(name, outcome.random.nextInt(6000), outcome.random.nextInt(120));
+        if (ok) {
+            outcome.writeOk++;
+        } else {
+            outcome.writeFailed++;
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+
+/**
+ * DatabaseFixtures - Database SQLite sementara berisi N pemain untuk benchmark
+ *
+ * Template per ukuran di-seed sekali ke java.io.tmpdir (1M pemain butuh
+ * beberapa detik), lalu setiap trial bekerja di salinan baru sehingga
+ * hasil tulis dari benchmark sebelumnya tidak terbawa.
+ */
+final class DatabaseFixtures {
+    static final long SEED = 42L;
+    private static final int BATCH_SIZE = 10_000;
+
+    private DatabaseFixtures() {
+    }
+
+    // Nama pemain ke-i yang pasti ada di database hasil seed
+    static String playerName(int index) {
+        return "player" + index;
+    }
+
+    // Salinan baru dari template N pemain, dibuka lewat DatabaseManager asli
+    static DatabaseManager open(int playerCount) throws IOException, SQLException {
+        Path template = template(playerCount);
+        Path copy = Files.createTempFile("tmd-bench-" + playerCount + "-", ".db");
+        Files.copy(template, copy, StandardCopyOption.REPLACE_EXISTING);
+        return DatabaseManager.forUrl("jdbc:sqlite:" + copy);
+    }
+
+    // Hapus file salinan beserta journal-nya
+    static void delete(DatabaseManager databaseManager) throws IOException {
+        String file = databaseManager.getDbUrl().substring("jdbc:sqlite:".length());
+        Files.deleteIfExists(Paths.get(file));
+        Files.deleteIfExists(Paths.get(file + "-journal"));
+        Files.deleteIfExists(Paths.get(file + "-wal"));
+        Files.deleteIfExists(Paths.get(file + "-shm"));
+    }
+
+    // getTopPlayers mencetak setiap baris ke stdout, buang supaya log JMH tetap terbaca
+    static void silenceStdout() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    private static synchronized Path template(int playerCount) throws SQLException, IOException {
+        Path template = Paths.get(System.getProperty("java.io.tmpdir"), "tmd-bench-seed-" + playerCount + ".db");
+        if (Files.exists(template)) {
+            return template;
+        }
+
+        Path partial = Files.createTempFile("tmd-bench-seed-", ".tmp");
+        String url = "jdbc:sqlite:" + partial;
+        DatabaseManager.forUrl(url); // Buat tabel dengan skema yang sama persis dengan game
+
+        String sql = "INSERT INTO players (name, high_score, high_fish_count, games_played) VALUES (?, ?, ?, ?)";
+        try (Connection conn = DriverManager.getConnection(url);
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            Random random = new Random(SEED);
+            for (int i = 0; i < playerCount; i++) {
+                pstmt.setString(1, playerName(i));
+                pstmt.setInt(2, random.nextInt(5000));
+                pstmt.setInt(3, random.nextInt(100));
+                pstmt.setInt(4, 1 + random.nextInt(50));
+                pstmt.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        }
+        Files.move(partial, template, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return template;
+    }
+}
@@ -0,0 +1,69 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DatabaseManagerBenchmark - Latency dan throughput operasi DatabaseManager
+ *
+ * Satu thread, database berisi 10k/100k/1M pemain. Mode SampleTime memberi
+ * persentil latency (p50/p90/p99/p99.9), Throughput memberi ops/detik.
+ * Perubahan persistence harus menyertakan angka sebelum/sesudah dari sini.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseManagerBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int playerCount;
+
+    private DatabaseManager databaseManager;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        DatabaseFixtures.silenceStdout();
+        databaseManager = DatabaseFixtures.open(playerCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        DatabaseFixtures.delete(databaseManager);
+    }
+
+    // Urutan pemain dan skor random per thread, seed tetap
+    @State(Scope.Thread)
+    public static class Cursor {
+        final Random random = new Random(DatabaseFixtures.SEED);
+        int added = 0;
+    }
+
+    @Benchmark
+    public boolean recordGameScore(Cursor cursor) {
+        String name = DatabaseFixtures.playerName(cursor.random.nextInt(playerCount));
+        return databaseManager.recordGameScore(name, cursor.random.nextInt(6000), cursor.random.nextInt(120));
+    }
+
+    @Benchmark
+    public List<DatabaseManager.Player> getTopPlayers() {
+        return databaseManager.getTopPlayers(20);
+    }
+
+    @Benchmark
+    public boolean playerExists(Cursor cursor) {
+        // Setengah nama ada di database, setengah tidak
+        int index = cursor.random.nextInt(playerCount * 2);
+        return databaseManager.playerExists(DatabaseFixtures.playerName(index));
+    }
+
+    @Benchmark
+    public boolean addPlayer(Cursor cursor) {
+        return databaseManager.addPlayer("new" + Thread.currentThread().getId() + "-" + cursor.added++);
+    }
+}
@@ -0,0 +1,113 @@
+package view;
+
+import util.Lifecycle;
+import viewmodel.GameViewModel;
+import javax.swing.SwingUtilities;
+import java.awt.Dimension;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * LifecycleSoak - Soak test restart game berulang kali
+ *
+ * Mengulangi urutan yang sama dengan App.createFreshGamePanel ("Play Again")
+ * sebanyak N kali di EDT, lalu memastikan jumlah Swing Timer dan heap setelah GC
+ * tetap datar. Sebelum ada kontrak Disposable, setiap restart menambah
+ * timer 60 FPS baru yang tidak pernah di-stop.
+ *
+ * Cara pakai: LifecycleSoak [jumlahRestart] (default 1000)
+ * Exit code 1 jika timer atau heap bertambah.
+ */
+public class LifecycleSoak {
+    // Toleransi pertumbuhan heap setelah GC
+    private static final long HEAP_TOLERANCE_BYTES = 8L * 1024 * 1024;
+
+    private static GamePanel gamePanel;
+    private static GameViewModel gameViewModel;
+
+    public static void main(String[] args) throws Exception {
+        int restarts = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int warmup = Math.max(1, Math.min(50, restarts / 10));
+
+        Sample baseline = null;
+        System.out.println("restart  liveTimers  runningTimers  threads  heapAfterGcKB");
+        for (int i = 1; i <= restarts; i++) {
+            SwingUtilities.invokeAndWait(LifecycleSoak::restart);
+
+            if (i == warmup) {
+                baseline = Sample.take();
+                System.out.println(baseline.format(i));
+            } else if (i % 100 == 0 || i == restarts) {
+                System.out.println(Sample.take().format(i));
+            }
+        }
+        Sample end = Sample.take();
+
+        // Tutup game terakhir, semua timer harus berhenti
+        SwingUtilities.invokeAndWait(LifecycleSoak::shutdown);
+        int runningAfterShutdown = Lifecycle.getRunningTimerCount();
+
+        boolean timersFlat = end.liveTimers == baseline.liveTimers && end.runningTimers == baseline.runningTimers;
+        boolean heapFlat = end.heapUsed - baseline.heapUsed <= HEAP_TOLERANCE_BYTES;
+        System.out.println("timers flat: " + timersFlat + ", heap growth KB: "
+                + (end.heapUsed - baseline.heapUsed) / 1024 + ", running timers after shutdown: "
+                + runningAfterShutdown);
+
+        if (!timersFlat || !heapFlat || runningAfterShutdown != 0) {
+            System.out.println("SOAK FAILED");
+            System.exit(1);
+        }
+        System.out.println("SOAK PASSED");
+        System.exit(0);
+    }
+
+    // Urutan yang sama dengan App.createFreshGamePanel
+    private static void restart() {
+        shutdown();
+
+        gameViewModel = new GameViewModel();
+        gameViewModel.setPanelDimensions(800, 600);
+
+        gamePanel = new GamePanel(gameViewModel);
+        gamePanel.setPreferredSize(new Dimension(800, 600));
+        gamePanel.startGame();
+    }
+
+    private static void shutdown() {
+        if (gamePanel != null) {
+            gamePanel.dispose();
+            gamePanel = null;
+        }
+        if (gameViewModel != null) {
+            gameViewModel.dispose();
+            gameViewModel = null;
+        }
+    }
+
+    // Satu titik pengukuran
+    private static class Sample {
+        int liveTimers;
+        int runningTimers;
+        int threads;
+        long heapUsed;
+
+        static Sample take() throws InterruptedException {
+            Sample sample = new Sample();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+                Thread.sleep(50);
+            }
+            sample.heapUsed = memory.getHeapMemoryUsage().getUsed();
+            sample.liveTimers = Lifecycle.getLiveTimerCount();
+            sample.runningTimers = Lifecycle.getRunningTimerCount();
+            sample.threads = Thread.activeCount();
+            return sample;
+        }
+
+        String format(int restart) {
+            return String.format("%7d  %10d  %13d  %7d  %13d",
+                    restart, liveTimers, runningTimers, threads, heapUsed / 1024);
+        }
+    }
+}
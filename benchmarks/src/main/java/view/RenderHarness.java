@@ -0,0 +1,217 @@
+package view;
+
+import viewmodel.GameViewModel;
+import viewmodel.KucingViewModelNew;
+import viewmodel.RenderScene;
+import javax.swing.ImageIcon;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+
+/**
+ * RenderHarness - Benchmark offscreen untuk jalur render Java2D game
+ *
+ * Menggambar scene game ke BufferedImage (atau VolatileImage jika ada display)
+ * dengan urutan layer yang sama seperti gameArea di GamePanel:
+ * background, ikan, tempat makan, tangan kucing, badan kucing, HUD.
+ * Setiap layer diukur terpisah dengan System.nanoTime, lalu dilaporkan
+ * rata-rata dan p99 nanodetik per frame serta FPS yang bisa dicapai.
+ *
+ * Cara pakai (berjalan dengan -Djava.awt.headless=true):
+ *   RenderHarness [--fish=10,100,1000,10000] [--frames=600] [--warmup=300] [--surface=buffered|volatile]
+ */
+public class RenderHarness {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final String[] LAYERS = { "background", "ikan", "tempatMakan", "hand", "kucing", "hud" };
+
+    public static void main(String[] args) {
+        int[] fishCounts = { 10, 100, 1000, 10000 };
+        int frames = 600;
+        int warmup = 300;
+        String surface = "buffered";
+        for (String arg : args) {
+            if (arg.startsWith("--fish=")) {
+                fishCounts = Arrays.stream(arg.substring(7).split(",")).mapToInt(Integer::parseInt).toArray();
+            } else if (arg.startsWith("--frames=")) {
+                frames = Integer.parseInt(arg.substring(9));
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(arg.substring(9));
+            } else if (arg.startsWith("--surface=")) {
+                surface = arg.substring(10);
+            }
+        }
+
+        System.out.println("surface=" + surface + " headless=" + GraphicsEnvironment.isHeadless()
+                + " frames=" + frames + " warmup=" + warmup);
+        for (int fishCount : fishCounts) {
+            new RenderHarness(fishCount, surface).run(warmup, frames);
+        }
+        System.exit(0);
+    }
+
+    private final GameViewModel gameViewModel;
+    private final RenderScene scene;
+    private final IkanPanel ikanPanel;
+    private final KucingPanel kucingPanel;
+    private final TempatMakanPanel tempatMakanPanel;
+    private final BackgroundLayer backgroundLayer;
+    private final HudRenderer hudRenderer = new HudRenderer();
+    private final Component area;
+    private final FrameSurface frameSurface;
+
+    private RenderHarness(int fishCount, String surface) {
+        gameViewModel = new GameViewModel();
+        gameViewModel.setPanelDimensions(WIDTH, HEIGHT);
+        scene = RenderScene.riverLanes(gameViewModel.getIkanViewModel(), fishCount);
+
+        ikanPanel = new IkanPanel(gameViewModel.getIkanViewModel());
+        kucingPanel = new KucingPanel(gameViewModel);
+        tempatMakanPanel = new TempatMakanPanel(gameViewModel);
+        backgroundLayer = new BackgroundLayer(
+                new ImageIcon(RenderHarness.class.getResource("/assets/backgroundd.png")).getImage());
+
+        // Komponen pengganti gameArea, hanya untuk ukuran background
+        area = new Canvas();
+        area.setSize(WIDTH, HEIGHT);
+        frameSurface = "volatile".equals(surface) && !GraphicsEnvironment.isHeadless()
+                ? new VolatileSurface() : new BufferedSurface();
+    }
+
+    private void run(int warmup, int frames) {
+        KucingViewModelNew kucing = gameViewModel.getKucingViewModelNew();
+        kucing.setHandActive(true);
+
+        long[][] samples = new long[LAYERS.length][frames];
+        long[] totals = new long[frames];
+        for (int frame = -warmup; frame < frames; frame++) {
+            int step = frame + warmup;
+            scene.advance(step);
+            // Tangan berputar mengelilingi kucing, sudut dan panjang berubah tiap frame
+            double angle = step * 0.05;
+            kucing.setHandTarget(WIDTH / 2 + (int) (Math.cos(angle) * 250), HEIGHT / 2 + (int) (Math.sin(angle) * 200));
+
+            long[] layerNanos = renderFrame(step);
+            if (frame >= 0) {
+                long total = 0;
+                for (int layer = 0; layer < LAYERS.length; layer++) {
+                    samples[layer][frame] = layerNanos[layer];
+                    total += layerNanos[layer];
+                }
+                totals[frame] = total;
+            }
+        }
+        report(samples, totals);
+        dispose();
+    }
+
+    private long[] renderFrame(int step) {
+        long[] nanos = new long[LAYERS.length];
+        Graphics2D g2d = frameSurface.begin();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        long start = System.nanoTime();
+        backgroundLayer.paint(area, g2d);
+        long t1 = System.nanoTime();
+        ikanPanel.drawAllIkan(g2d);
+        long t2 = System.nanoTime();
+        tempatMakanPanel.drawTempatMakan(g2d);
+        long t3 = System.nanoTime();
+        kucingPanel.drawHand(g2d);
+        long t4 = System.nanoTime();
+        kucingPanel.drawKucing(g2d);
+        long t5 = System.nanoTime();
+        // Nilai HUD berubah sesekali seperti saat main (skor, detik)
+        hudRenderer.paint(g2d, step / 90 * 10, step / 90, 60 - (step / 60) % 60, 1200);
+        long t6 = System.nanoTime();
+
+        frameSurface.end(g2d);
+        nanos[0] = t1 - start;
+        nanos[1] = t2 - t1;
+        nanos[2] = t3 - t2;
+        nanos[3] = t4 - t3;
+        nanos[4] = t5 - t4;
+        nanos[5] = t6 - t5;
+        return nanos;
+    }
+
+    private void report(long[][] samples, long[] totals) {
+        System.out.println();
+        System.out.println("fish=" + scene.getFishCount());
+        System.out.println(String.format("  %-12s %12s %12s", "layer", "mean ns", "p99 ns"));
+        for (int layer = 0; layer < LAYERS.length; layer++) {
+            System.out.println(String.format("  %-12s %12d %12d", LAYERS[layer], mean(samples[layer]), p99(samples[layer])));
+        }
+        long mean = mean(totals);
+        long p99 = p99(totals);
+        System.out.println(String.format("  %-12s %12d %12d", "total", mean, p99));
+        System.out.println(String.format("  fps (mean) %.1f, fps (p99) %.1f", 1e9 / Math.max(1, mean), 1e9 / Math.max(1, p99)));
+    }
+
+    private static long mean(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return values.length == 0 ? 0 : sum / values.length;
+    }
+
+    private static long p99(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.99) - 1)];
+    }
+
+    private void dispose() {
+        ikanPanel.dispose();
+        kucingPanel.dispose();
+        tempatMakanPanel.dispose();
+        backgroundLayer.flush();
+        hudRenderer.flush();
+        gameViewModel.dispose();
+    }
+
+    // Target render satu frame
+    private interface FrameSurface {
+        Graphics2D begin();
+
+        void end(Graphics2D g2d);
+    }
+
+    // BufferedImage RGB, bisa headless (seperti back buffer Swing di software pipeline)
+    private static class BufferedSurface implements FrameSurface {
+        private final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        @Override
+        public Graphics2D begin() {
+            return image.createGraphics();
+        }
+
+        @Override
+        public void end(Graphics2D g2d) {
+            g2d.dispose();
+        }
+    }
+
+    // VolatileImage di VRAM, hanya jika ada display
+    private static class VolatileSurface implements FrameSurface {
+        private final GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        private VolatileImage image = gc.createCompatibleVolatileImage(WIDTH, HEIGHT);
+
+        @Override
+        public Graphics2D begin() {
+            if (image.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                image = gc.createCompatibleVolatileImage(WIDTH, HEIGHT);
+            }
+            return image.createGraphics();
+        }
+
+        @Override
+        public void end(Graphics2D g2d) {
+            g2d.dispose();
+            Toolkit.getDefaultToolkit().sync();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package viewmodel;
+
+import model.Ikan;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BenchFixtures - Data awal yang sama untuk semua benchmark simulasi
+ *
+ * Ikan disusun di jalur atas (bergerak ke kiri) dan jalur bawah (bergerak ke
+ * kanan) seperti spawnNewFish, dengan seed tetap agar setiap run identik.
+ * Posisi awal disimpan supaya benchmark bisa mengembalikan ikan ke posisinya
+ * sebelum setiap tick (ikan tidak keluar layar dan jumlahnya tetap N).
+ */
+final class BenchFixtures {
+    static final long SEED = 42L;
+    static final int FISH_WIDTH = 60;
+    static final int FISH_HEIGHT = 50;
+    static final int FISH_SPEED = 5;
+
+    private final List<Ikan> fish;
+    private final int[] startX;
+    private final int[] startY;
+    private final int[] startVelocityX;
+
+    private BenchFixtures(List<Ikan> fish) {
+        this.fish = fish;
+        this.startX = new int[fish.size()];
+        this.startY = new int[fish.size()];
+        this.startVelocityX = new int[fish.size()];
+        for (int i = 0; i < fish.size(); i++) {
+            Ikan ikan = fish.get(i);
+            startX[i] = ikan.getPosX();
+            startY[i] = ikan.getPosY();
+            startVelocityX[i] = ikan.getVelocityX();
+        }
+    }
+
+    // Isi list dengan N ikan di jalur sungai (zona atas 15-135, zona bawah 465-585)
+    static BenchFixtures riverLanes(List<Ikan> target, int count) {
+        Random random = new Random(SEED);
+        target.clear();
+        for (int i = 0; i < count; i++) {
+            boolean topZone = (i & 1) == 0;
+            int x = random.nextInt(800);
+            int y = topZone ? random.nextInt(120) + 15 : random.nextInt(120) + 465;
+            Ikan ikan = new Ikan(x, y, FISH_WIDTH, FISH_HEIGHT, random.nextInt(3));
+            ikan.setVelocityX(topZone ? -FISH_SPEED : FISH_SPEED);
+            target.add(ikan);
+        }
+        return new BenchFixtures(target);
+    }
+
+    // Isi list dengan N ikan di zona hijau kucing (sama dengan spawnRandomFish)
+    static BenchFixtures greenZone(List<Ikan> target, int count) {
+        Random random = new Random(SEED);
+        target.clear();
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(800 - FISH_WIDTH - 100) + 50;
+            int y = random.nextInt(10) + 250;
+            target.add(new Ikan(x, y, FISH_WIDTH, FISH_HEIGHT, random.nextInt(3)));
+        }
+        return new BenchFixtures(target);
+    }
+
+    // Kembalikan semua ikan ke posisi dan velocity awal
+    void reset() {
+        for (int i = 0; i < startX.length; i++) {
+            Ikan ikan = fish.get(i);
+            ikan.setPosX(startX[i]);
+            ikan.setPosY(startY[i]);
+            ikan.setVelocityX(startVelocityX[i]);
+        }
+    }
+
+    // Titik uji random di area 800x600 (untuk klik dan probe spawn)
+    static int[] randomPoints(int count, int minX, int maxX, int minY, int maxY) {
+        Random random = new Random(SEED + 1);
+        int[] points = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            points[i * 2] = minX + random.nextInt(maxX - minX);
+            points[i * 2 + 1] = minY + random.nextInt(maxY - minY);
+        }
+        return points;
+    }
+}
@@ -0,0 +1,222 @@
+package viewmodel;
+
+import model.DatabaseManager;
+import model.Ikan;
+import util.GameRandom;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * GameSimulation - Macro-benchmark: game 60 detik penuh secepat mungkin
+ *
+ * Setiap game: new GameViewModel(false, seed) -> setCurrentPlayerName -> startGame
+ * -> input terskrip per tick (gerak WASD, klik ikan, gerak mouse) -> tick()
+ * sampai waktu habis -> gameOver -> saveHighScore ke database. Waktu berjalan
+ * di virtual clock (3600 tick = 60 detik game), tanpa Swing Timer dan tanpa sleep.
+ *
+ * Melaporkan games/detik, ticks/detik, p99 waktu satu tick, dan byte yang
+ * dialokasikan per tick (ThreadMXBean). Bisa dijalankan di N thread sekaligus,
+ * masing-masing dengan game sendiri, untuk angka kapasitas server.
+ *
+ * Seed game ke-i di worker w diturunkan dari --seed (default -Dtmd.seed atau 1),
+ * jadi dua run dengan argumen yang sama memainkan game yang persis sama.
+ *
+ * Cara pakai: GameSimulation [--threads=1] [--games=20] [--warmup=3] [--seed=1]
+ * Database memakai file sementara kecuali -Dtmd.db.url sudah di-set.
+ */
+public class GameSimulation {
+    // Histogram waktu tick dengan resolusi 1 mikrodetik, sampai 100 ms
+    private static final int HISTOGRAM_MICROS = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        int threads = 1;
+        int games = 20;
+        int warmup = 3;
+        long seed = Long.getLong(GameRandom.SEED_PROPERTY, 1L);
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring(10));
+            } else if (arg.startsWith("--games=")) {
+                games = Integer.parseInt(arg.substring(8));
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(arg.substring(9));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring(7));
+            }
+        }
+
+        if (System.getProperty(DatabaseManager.DB_URL_PROPERTY) == null) {
+            java.nio.file.Path db = Files.createTempFile("tmd-sim-", ".db");
+            db.toFile().deleteOnExit();
+            System.setProperty(DatabaseManager.DB_URL_PROPERTY, "jdbc:sqlite:" + db);
+        }
+        DatabaseManager.getInstance();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Result>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            final int worker = i;
+            final int gamesPerThread = games;
+            final int warmupGames = warmup;
+            final GameRandom seeds = new GameRandom(seed).stream("worker" + i);
+            futures.add(executor.submit(() -> runWorker(worker, seeds, warmupGames, gamesPerThread)));
+        }
+
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        executor.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("threads=" + threads + " games/thread=" + games + " warmup=" + warmup + " seed=" + seed);
+        System.out.println(String.format("games/sec        %.2f", total.games / total.maxSeconds));
+        System.out.println(String.format("ticks/sec        %.0f", total.ticks / total.maxSeconds));
+        System.out.println(String.format("p99 tick         %d us", total.percentileMicros(0.99)));
+        System.out.println(String.format("p50 tick         %d us", total.percentileMicros(0.50)));
+        System.out.println(String.format("alloc/tick       %d bytes", total.allocatedBytes / Math.max(1, total.ticks)));
+        System.out.println(String.format("avg score        %.1f", (double) total.scoreSum / Math.max(1, total.games)));
+        System.out.println(String.format("wall time        %.2f s (termasuk warmup)", seconds));
+        System.exit(0);
+    }
+
+    // Satu thread: warmup lalu game yang diukur
+    private static Result runWorker(int worker, GameRandom seeds, int warmupGames, int games) {
+        String playerName = "sim" + worker;
+        for (int i = 0; i < warmupGames; i++) {
+            playGame(playerName, seeds.nextLong(), null);
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Result result = new Result();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            result.scoreSum += playGame(playerName, seeds.nextLong(), result);
+            result.games++;
+        }
+        result.maxSeconds = (System.nanoTime() - start) / 1e9;
+        result.allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return result;
+    }
+
+    // Satu game penuh sampai gameOver, return skor akhir
+    private static int playGame(String playerName, long seed, Result result) {
+        GameViewModel game = new GameViewModel(false, seed);
+        game.setPanelDimensions(800, 600);
+        game.setCurrentPlayerName(playerName);
+        game.startGame();
+
+        InputScript script = new InputScript(game);
+        while (game.isGameRunning()) {
+            script.apply();
+            long start = System.nanoTime();
+            game.tick();
+            long elapsed = System.nanoTime() - start;
+            if (result != null) {
+                result.record(elapsed);
+            }
+        }
+
+        int score = game.getScore();
+        game.dispose();
+        return score;
+    }
+
+    // Input pemain terskrip dan deterministik per tick
+    private static class InputScript {
+        private static final int[] MOVE_KEYS = { KeyEvent.VK_D, KeyEvent.VK_S, KeyEvent.VK_A, KeyEvent.VK_W };
+
+        private final GameViewModel game;
+        private int tick = 0;
+        private boolean mouseDown = false;
+
+        InputScript(GameViewModel game) {
+            this.game = game;
+        }
+
+        void apply() {
+            // Ganti arah gerak setiap 45 tick (lepas tombol lama lalu tekan tombol baru)
+            if (tick % 45 == 0) {
+                int step = tick / 45;
+                if (step > 0) {
+                    game.handleKeyReleased(MOVE_KEYS[(step - 1) % MOVE_KEYS.length]);
+                }
+                game.handleKeyPressed(MOVE_KEYS[step % MOVE_KEYS.length]);
+            }
+
+            // Klik ikan yang terlihat setiap 40 tick, lepas di tick berikutnya
+            if (mouseDown) {
+                game.handleMouseReleased();
+                mouseDown = false;
+            } else if (tick % 40 == 0) {
+                Ikan target = findVisibleFish();
+                if (target != null) {
+                    game.handleMousePressed(target.getCenterX(), target.getCenterY());
+                    mouseDown = true;
+                }
+            }
+
+            // Mouse bergerak melingkar setiap tick (hover dan target tangan)
+            double angle = tick * 0.03;
+            game.handleMouseMoved(400 + (int) (Math.cos(angle) * 300), 300 + (int) (Math.sin(angle) * 250));
+            tick++;
+        }
+
+        private Ikan findVisibleFish() {
+            for (Ikan ikan : game.getIkanViewModel().getListIkan()) {
+                if (ikan.isAvailableForCatch() && ikan.getPosX() >= 0 && ikan.getPosX() + ikan.getWidth() <= 800) {
+                    return ikan;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Hasil pengukuran per thread, digabung di akhir
+    private static class Result {
+        final long[] histogram = new long[HISTOGRAM_MICROS + 1];
+        long games;
+        long ticks;
+        long scoreSum;
+        long allocatedBytes;
+        double maxSeconds;
+
+        void record(long nanos) {
+            histogram[(int) Math.min(HISTOGRAM_MICROS, nanos / 1000)]++;
+            ticks++;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            games += other.games;
+            ticks += other.ticks;
+            scoreSum += other.scoreSum;
+            allocatedBytes += other.allocatedBytes;
+            // Thread berjalan paralel, throughput total dihitung dari thread paling lambat
+            maxSeconds = Math.max(maxSeconds, other.maxSeconds);
+        }
+
+        long percentileMicros(double percentile) {
+            long target = (long) Math.ceil(ticks * percentile);
+            long seen = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                seen += histogram[i];
+                if (seen >= target) {
+                    return i;
+                }
+            }
+            return HISTOGRAM_MICROS;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package viewmodel;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import model.Ikan;
+import util.GameRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IkanViewModelBenchmark - Kernel simulasi ikan pada jumlah ikan 10 sampai 10k
+ *
+ * - tick: satu frame updateAllFishMovement (O(n^2) cek jarak antar ikan)
+ * - spawn: satu spawnNewFish (isi grid FishSpawner dari n ikan + cari posisi)
+ * - clickProbe: findClickedFish di titik random dalam layar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IkanViewModelBenchmark {
+    private static final int PROBE_COUNT = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int fishCount;
+
+    private IkanViewModel ikanViewModel;
+    private BenchFixtures fixtures;
+    private int[] clickProbes;
+    private int probeIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ikanViewModel = new IkanViewModel(new GameRandom(BenchFixtures.SEED));
+        fixtures = BenchFixtures.riverLanes(ikanViewModel.getListIkan(), fishCount);
+        clickProbes = BenchFixtures.randomPoints(PROBE_COUNT, 0, 800, 0, 600);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ikanViewModel.dispose();
+    }
+
+    @Benchmark
+    public int tick() {
+        // Kembalikan posisi sebelum tick agar jumlah ikan tetap fishCount
+        fixtures.reset();
+        ikanViewModel.updateAllFishMovement();
+        return ikanViewModel.getTotalIkanCount();
+    }
+
+    @Benchmark
+    public int spawn() {
+        List<Ikan> fish = ikanViewModel.getListIkan();
+        ikanViewModel.spawnNewFish();
+        // Buang ikan baru agar jumlah ikan tetap fishCount
+        while (fish.size() > fishCount) {
+            fish.remove(fish.size() - 1);
+        }
+        return fish.size();
+    }
+
+    @Benchmark
+    public void clickProbe(Blackhole blackhole) {
+        int i = nextProbe();
+        blackhole.consume(ikanViewModel.findClickedFish(clickProbes[i], clickProbes[i + 1]));
+    }
+
+    private int nextProbe() {
+        probeIndex = (probeIndex + 1) & (PROBE_COUNT - 1);
+        return probeIndex * 2;
+    }
+}
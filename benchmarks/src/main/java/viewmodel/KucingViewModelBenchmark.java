@@ -0,0 +1,44 @@
+package viewmodel;
+
+import org.openjdk.jmh.annotations.*;
+import util.GameRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KucingViewModelBenchmark - Satu frame game loop kucing (actionPerformed)
+ *
+ * Tangan kucing aktif dengan target di luar zona ikan, sehingga
+ * checkFishCollision memindai semua N ikan setiap frame tanpa menangkap
+ * satupun (kondisi terburuk saat pemain menahan klik).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KucingViewModelBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int fishCount;
+
+    private KucingViewModelNew kucingViewModel;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        kucingViewModel = new KucingViewModelNew(new GameRandom(BenchFixtures.SEED));
+        BenchFixtures.greenZone(kucingViewModel.getListIkan(), fishCount);
+        kucingViewModel.setHandActive(true);
+        kucingViewModel.setHandTarget(400, 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        kucingViewModel.dispose();
+    }
+
+    @Benchmark
+    public int tick() {
+        kucingViewModel.actionPerformed(null);
+        return kucingViewModel.getFishDelivered();
+    }
+}
@@ -0,0 +1,47 @@
+package viewmodel;
+
+import model.Ikan;
+import java.util.List;
+
+/**
+ * RenderScene - Skenario ikan untuk render harness (package view)
+ *
+ * Mengisi IkanViewModel dengan N ikan di jalur sungai lalu menggeser
+ * posisinya per frame secara deterministik, tanpa menjalankan simulasi,
+ * sehingga yang terukur hanya biaya menggambar.
+ */
+public final class RenderScene {
+    // Ikan yang keluar layar masuk lagi dari sisi lain dalam rentang ini
+    private static final int WRAP_MIN_X = -120;
+    private static final int WRAP_SPAN = 1040;
+
+    private final List<Ikan> fish;
+    private final int[] startX;
+
+    private RenderScene(List<Ikan> fish) {
+        this.fish = fish;
+        this.startX = new int[fish.size()];
+        for (int i = 0; i < fish.size(); i++) {
+            startX[i] = fish.get(i).getPosX();
+        }
+    }
+
+    public static RenderScene riverLanes(IkanViewModel ikanViewModel, int fishCount) {
+        List<Ikan> fish = ikanViewModel.getListIkan();
+        BenchFixtures.riverLanes(fish, fishCount);
+        return new RenderScene(fish);
+    }
+
+    // Posisi semua ikan pada frame ke-n
+    public void advance(int frame) {
+        for (int i = 0; i < startX.length; i++) {
+            Ikan ikan = fish.get(i);
+            int x = startX[i] + ikan.getVelocityX() * frame - WRAP_MIN_X;
+            ikan.setPosX(Math.floorMod(x, WRAP_SPAN) + WRAP_MIN_X);
+        }
+    }
+
+    public int getFishCount() {
+        return startX.length;
+    }
+}
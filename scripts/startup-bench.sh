@@ -0,0 +1,131 @@
+#!/usr/bin/env bash
+# startup-bench.sh - Ukur waktu startup dari main() sampai frame game pertama
+#
+# Menjalankan game N kali dalam mode cold dan warm dengan
+# -Dtmd.startup.autoplay=true (game langsung dimulai dan JVM keluar setelah
+# frame game pertama), lalu mencetak median uptime_ms per fase dari trace
+# StartupTrace.
+#
+#   cold: -Xshare:off, database baru, page cache di-drop jika diizinkan (root)
+#   warm: CDS default, database yang sudah ada dari run sebelumnya
+#
+# Pemakaian: scripts/startup-bench.sh [runs] [cold|warm|both]
+# Butuh display; jika DISPLAY kosong, dijalankan lewat xvfb-run.
+#
+# Gate untuk CI (exit 2 jika ada fase yang lebih lambat dari baseline):
+#   SAVE_BASELINE=startup-baseline.txt scripts/startup-bench.sh   # simpan median sekarang
+#   BASELINE=startup-baseline.txt scripts/startup-bench.sh        # bandingkan
+# Fase dianggap regresi jika median uptime_ms > baseline * (1 + TOLERANCE_PCT/100)
+# + SLACK_MS (default 20% dan 50 ms, agar fase pendek tidak gagal karena noise).
+set -euo pipefail
+
+RUNS="${1:-5}"
+MODE="${2:-both}"
+TOLERANCE_PCT="${TOLERANCE_PCT:-20}"
+SLACK_MS="${SLACK_MS:-50}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+WORK="$(mktemp -d "${TMPDIR:-/tmp}/tmd-startup.XXXXXX")"
+trap 'rm -rf "$WORK"' EXIT
+
+cd "$ROOT"
+mvn -B -q -pl game -am package -DskipTests
+mvn -B -q -pl game dependency:build-classpath -Dmdep.outputFile="$WORK/cp.txt"
+CP="$ROOT/game/target/tmd-game-1.0-SNAPSHOT.jar:$(cat "$WORK/cp.txt")"
+
+RUNNER=()
+if [ -z "${DISPLAY:-}" ]; then
+    if command -v xvfb-run >/dev/null 2>&1; then
+        RUNNER=(xvfb-run -a)
+    else
+        echo "DISPLAY kosong dan xvfb-run tidak ditemukan" >&2
+        exit 1
+    fi
+fi
+
+drop_caches() {
+    sync
+    if [ -w /proc/sys/vm/drop_caches ]; then
+        echo 3 > /proc/sys/vm/drop_caches
+    fi
+}
+
+run_once() { # run_once <trace> <db> <extra jvm args...>
+    local trace="$1" db="$2"
+    shift 2
+    "${RUNNER[@]}" java "$@" \
+        -Dtmd.startup.trace="$trace" \
+        -Dtmd.startup.autoplay=true \
+        -Dtmd.db.url="jdbc:sqlite:$db" \
+        -cp "$CP" view.App >/dev/null
+}
+
+# Median uptime_ms (dan duration_ms jika ada) per fase dari semua trace;
+# median uptime juga dicatat ke $WORK/summary.txt sebagai "<label> <fase> <ms>"
+summarize() { # summarize <label> <trace...>
+    local label="$1"
+    shift
+    echo "== $label ($# run) =="
+    cat "$@" | awk -v label="$label" -v summary="$WORK/summary.txt" '
+        {
+            phase = $0; sub(/.*"phase":"/, "", phase); sub(/".*/, "", phase)
+            up = $0; sub(/.*"uptime_ms":/, "", up); sub(/[,}].*/, "", up)
+            if (!(phase in seen)) { seen[phase] = 1; order[++n] = phase }
+            ups[phase] = ups[phase] " " up
+            if ($0 ~ /"duration_ms"/) {
+                d = $0; sub(/.*"duration_ms":/, "", d); sub(/[,}].*/, "", d)
+                durs[phase] = durs[phase] " " d
+            }
+        }
+        function median(list,    a, k, i, j, t) {
+            k = split(list, a, " ")
+            for (i = 2; i <= k; i++) for (j = i; j > 1 && a[j-1] + 0 > a[j] + 0; j--) { t = a[j]; a[j] = a[j-1]; a[j-1] = t }
+            return k % 2 ? a[(k + 1) / 2] : (a[k / 2] + a[k / 2 + 1]) / 2
+        }
+        END {
+            printf "%-30s %12s %12s\n", "phase", "uptime_ms", "duration_ms"
+            for (i = 1; i <= n; i++) {
+                p = order[i]
+                printf "%-30s %12.1f %12s\n", p, median(ups[p]), (p in durs) ? sprintf("%.1f", median(durs[p])) : "-"
+                printf "%s %s %.1f\n", label, p, median(ups[p]) >> summary
+            }
+        }'
+}
+
+if [ "$MODE" = "cold" ] || [ "$MODE" = "both" ]; then
+    traces=()
+    for i in $(seq 1 "$RUNS"); do
+        rm -f "$WORK/cold.db"
+        drop_caches
+        run_once "$WORK/cold-$i.jsonl" "$WORK/cold.db" -Xshare:off
+        traces+=("$WORK/cold-$i.jsonl")
+    done
+    summarize "cold" "${traces[@]}"
+fi
+
+if [ "$MODE" = "warm" ] || [ "$MODE" = "both" ]; then
+    run_once "$WORK/warmup.jsonl" "$WORK/warm.db" # Siapkan database dan page cache
+    traces=()
+    for i in $(seq 1 "$RUNS"); do
+        run_once "$WORK/warm-$i.jsonl" "$WORK/warm.db"
+        traces+=("$WORK/warm-$i.jsonl")
+    done
+    summarize "warm" "${traces[@]}"
+fi
+
+if [ -n "${SAVE_BASELINE:-}" ]; then
+    cp "$WORK/summary.txt" "$SAVE_BASELINE"
+    echo "Baseline disimpan ke $SAVE_BASELINE"
+fi
+
+if [ -n "${BASELINE:-}" ]; then
+    echo "== dibandingkan dengan $BASELINE (toleransi ${TOLERANCE_PCT}% + ${SLACK_MS} ms) =="
+    awk -v tol="$TOLERANCE_PCT" -v slack="$SLACK_MS" '
+        FNR == NR { base[$1 " " $2] = $3; next }
+        ($1 " " $2) in base {
+            limit = base[$1 " " $2] * (1 + tol / 100) + slack
+            status = $3 > limit ? "REGRESI" : "ok"
+            if ($3 > limit) failed++
+            printf "%-6s %-30s %10.1f %10.1f  %s\n", $1, $2, base[$1 " " $2], $3, status
+        }
+        END { exit failed > 0 ? 2 : 0 }' "$BASELINE" "$WORK/summary.txt"
+fi
@@ -1,33 +1,106 @@
 package model;
 
+import util.JfrEvents;
+import util.Log;
+import util.Metrics;
+import util.StartupTrace;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class DatabaseManager {
-    private static final String DB_URL = "jdbc:sqlite:gamedata.db";
+    private static final String DEFAULT_DB_URL = "jdbc:sqlite:gamedata.db";
+    // System property untuk mengganti lokasi database (misalnya database sementara)
+    public static final String DB_URL_PROPERTY = "tmd.db.url";
     private static DatabaseManager instance;
 
-    private DatabaseManager() {
+    // Metrics statement database untuk dipantau lewat JMX
+    private static final Metrics.Counter STATEMENTS = Metrics.counter("db.statements");
+    private static final Metrics.Counter STATEMENT_ERRORS = Metrics.counter("db.statement_errors");
+    private static final Metrics.Histogram LATENCY = Metrics.histogram("db.latency_us");
+    private static final Log LOG = Log.get(DatabaseManager.class);
+
+    private final String dbUrl;
+
+    private DatabaseManager(String dbUrl) {
+        this.dbUrl = dbUrl;
+        long traceStart = StartupTrace.start();
         try {
             // Load SQLite JDBC driver
             Class.forName("org.sqlite.JDBC");
-            System.out.println("SQLite JDBC driver loaded successfully");
+            LOG.debug("SQLite JDBC driver loaded");
         } catch (ClassNotFoundException e) {
-            System.err.println("Error loading SQLite JDBC driver: " + e.getMessage());
+            LOG.error("Error loading SQLite JDBC driver: {}", e.getMessage());
         }
+        StartupTrace.span("db_driver_load", traceStart);
+        traceStart = StartupTrace.start();
         initializeDatabase();
+        StartupTrace.span("db_init", traceStart);
     }
 
-    public static DatabaseManager getInstance() {
+    public static synchronized DatabaseManager getInstance() {
         if (instance == null) {
-            instance = new DatabaseManager();
+            instance = new DatabaseManager(System.getProperty(DB_URL_PROPERTY, DEFAULT_DB_URL));
         }
         return instance;
     }
 
+    // Instance terpisah untuk database lain (benchmark, tool), bukan singleton game
+    public static DatabaseManager forUrl(String dbUrl) {
+        return new DatabaseManager(dbUrl);
+    }
+
+    public String getDbUrl() {
+        return dbUrl;
+    }
+
+    // Eksekusi statement sambil mencatat jumlah, error, dan latency ke metrics
+    private static int executeUpdate(PreparedStatement pstmt) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return pstmt.executeUpdate();
+        } catch (SQLException e) {
+            STATEMENT_ERRORS.inc();
+            throw e;
+        } finally {
+            STATEMENTS.inc();
+            LATENCY.record((System.nanoTime() - start) / 1000);
+        }
+    }
+
+    private static ResultSet executeQuery(PreparedStatement pstmt) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return pstmt.executeQuery();
+        } catch (SQLException e) {
+            STATEMENT_ERRORS.inc();
+            throw e;
+        } finally {
+            STATEMENTS.inc();
+            LATENCY.record((System.nanoTime() - start) / 1000);
+        }
+    }
+
+    // Event JFR tmd.Database untuk satu method, success di-set false oleh method jika gagal
+    private static JfrEvents.Database beginEvent() {
+        JfrEvents.Database event = new JfrEvents.Database();
+        event.success = true;
+        event.begin();
+        return event;
+    }
+
+    private static void commitEvent(JfrEvents.Database event, String operation, String statementId, int rows) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.statementId = statementId;
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
     private void initializeDatabase() {
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
+        try (Connection conn = DriverManager.getConnection(dbUrl)) {
             String createTableSQL = """
                         CREATE TABLE IF NOT EXISTS players (
                             id INTEGER PRIMARY KEY AUTOINCREMENT,
@@ -49,24 +122,29 @@ public class DatabaseManager {
                 // Column already exists, which is fine
             }
 
-            System.out.println("Database initialized successfully");
+            LOG.info("Database initialized: {}", dbUrl);
         } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
+            LOG.error("Error initializing database: {}", e.getMessage());
         }
     }
 
     public boolean addPlayer(String name) {
         String sql = "INSERT INTO players (name) VALUES (?)";
+        JfrEvents.Database event = beginEvent();
+        int rows = 0;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, name);
-            pstmt.executeUpdate();
+            rows = executeUpdate(pstmt);
             return true;
         } catch (SQLException e) {
-            System.err.println("Error adding player: " + e.getMessage());
+            LOG.error("Error adding player: {}", e.getMessage());
+            event.success = false;
             return false;
+        } finally {
+            commitEvent(event, "addPlayer", "players.insert", rows);
         }
     }
 
@@ -76,12 +154,14 @@ public class DatabaseManager {
 
         // Then, update high score only if the new score is higher
         String updateScoreSQL = "UPDATE players SET high_score = ? WHERE name = ? AND high_score < ?";
+        JfrEvents.Database event = beginEvent();
+        int rows = 0;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
+        try (Connection conn = DriverManager.getConnection(dbUrl)) {
             // Update games played count
             try (PreparedStatement pstmt1 = conn.prepareStatement(updateGamesSQL)) {
                 pstmt1.setString(1, playerName);
-                pstmt1.executeUpdate();
+                executeUpdate(pstmt1);
             }
 
             try (PreparedStatement pstmt2 = conn.prepareStatement(updateScoreSQL)) {
@@ -89,47 +169,63 @@ public class DatabaseManager {
                 pstmt2.setString(2, playerName);
                 pstmt2.setInt(3, score);
 
-                int rowsAffected = pstmt2.executeUpdate();
+                int rowsAffected = executeUpdate(pstmt2);
+                rows = rowsAffected;
                 return rowsAffected > 0;
             }
         } catch (SQLException e) {
-            System.err.println("Error updating high score: " + e.getMessage());
+            LOG.error("Error updating high score: {}", e.getMessage());
+            event.success = false;
             return false;
+        } finally {
+            commitEvent(event, "updateHighScore", "players.update_games+high_score", rows);
         }
     }
 
     public int getHighScore(String playerName) {
         String sql = "SELECT high_score FROM players WHERE name = ?";
+        JfrEvents.Database event = beginEvent();
+        int rows = 0;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, playerName);
-            ResultSet rs = pstmt.executeQuery();
+            ResultSet rs = executeQuery(pstmt);
 
             if (rs.next()) {
+                rows = 1;
                 return rs.getInt("high_score");
             }
         } catch (SQLException e) {
-            System.err.println("Error getting high score: " + e.getMessage());
+            LOG.error("Error getting high score: {}", e.getMessage());
+            event.success = false;
+        } finally {
+            commitEvent(event, "getHighScore", "players.select_high_score", rows);
         }
         return 0;
     }
 
     public int getHighFishCount(String playerName) {
         String sql = "SELECT high_fish_count FROM players WHERE name = ?";
+        JfrEvents.Database event = beginEvent();
+        int rows = 0;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, playerName);
-            ResultSet rs = pstmt.executeQuery();
+            ResultSet rs = executeQuery(pstmt);
 
             if (rs.next()) {
+                rows = 1;
                 return rs.getInt("high_fish_count");
             }
         } catch (SQLException e) {
-            System.err.println("Error getting high fish count: " + e.getMessage());
+            LOG.error("Error getting high fish count: {}", e.getMessage());
+            event.success = false;
+        } finally {
+            commitEvent(event, "getHighFishCount", "players.select_high_fish_count", rows);
         }
         return 0;
     }
@@ -137,14 +233,13 @@ public class DatabaseManager {
     public List<Player> getTopPlayers(int limit) {
         List<Player> topPlayers = new ArrayList<>();
         String sql = "SELECT name, high_score, high_fish_count FROM players ORDER BY high_score DESC LIMIT ?";
+        JfrEvents.Database event = beginEvent();
 
-        System.out.println("=== GETTING TOP PLAYERS (LIMIT: " + limit + ") ===");
-
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, limit);
-            ResultSet rs = pstmt.executeQuery();
+            ResultSet rs = executeQuery(pstmt);
 
             int rank = 1;
             while (rs.next()) {
@@ -152,33 +247,43 @@ public class DatabaseManager {
                 int score = rs.getInt("high_score");
                 int fishCount = rs.getInt("high_fish_count");
 
-                System.out.println(rank + ". " + name + " - " + score + "pts/" + fishCount + "fish");
+                if (Log.DEBUG) {
+                    LOG.debug("Top player " + rank + ". " + name + " - " + score + "pts/" + fishCount + "fish");
+                }
 
                 topPlayers.add(new Player(name, score, fishCount));
                 rank++;
             }
         } catch (SQLException e) {
-            System.err.println("Error getting top players: " + e.getMessage());
+            LOG.error("Error getting top players: {}", e.getMessage());
+            event.success = false;
+        } finally {
+            commitEvent(event, "getTopPlayers", "players.select_top", topPlayers.size());
         }
 
-        System.out.println("=== TOP PLAYERS QUERY COMPLETE ===");
         return topPlayers;
     }
 
     public boolean playerExists(String name) {
         String sql = "SELECT COUNT(*) FROM players WHERE name = ?";
+        JfrEvents.Database event = beginEvent();
+        int rows = 0;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, name);
-            ResultSet rs = pstmt.executeQuery();
+            ResultSet rs = executeQuery(pstmt);
 
             if (rs.next()) {
+                rows = 1;
                 return rs.getInt(1) > 0;
             }
         } catch (SQLException e) {
-            System.err.println("Error checking player existence: " + e.getMessage());
+            LOG.error("Error checking player existence: {}", e.getMessage());
+            event.success = false;
+        } finally {
+            commitEvent(event, "playerExists", "players.count_by_name", rows);
         }
         return false;
     }
@@ -187,12 +292,15 @@ public class DatabaseManager {
         // This method records any score and fish count, regardless of whether they're
         // high scores
         String sql = "UPDATE players SET games_played = games_played + 1, last_played = CURRENT_TIMESTAMP WHERE name = ?";
+        JfrEvents.Database event = beginEvent();
+        int rows = 0;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, playerName);
-            int rowsAffected = pstmt.executeUpdate(); // Now check if this is a new high score and update if necessary
+            int rowsAffected = executeUpdate(pstmt); // Now check if this is a new high score and update if necessary
+            rows = rowsAffected;
             if (score > getHighScore(playerName)) {
                 updateHighScore(playerName, score);
             }
@@ -204,8 +312,11 @@ public class DatabaseManager {
 
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("Error recording game score: " + e.getMessage());
+            LOG.error("Error recording game score: {}", e.getMessage());
+            event.success = false;
             return false;
+        } finally {
+            commitEvent(event, "recordGameScore", "players.update_games", rows);
         }
     }
 
@@ -217,19 +328,25 @@ public class DatabaseManager {
     public boolean updateHighFishCount(String playerName, int fishCount) {
         // Update high fish count only if the new count is higher
         String updateFishCountSQL = "UPDATE players SET high_fish_count = ? WHERE name = ? AND high_fish_count < ?";
+        JfrEvents.Database event = beginEvent();
+        int rows = 0;
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
                 PreparedStatement pstmt = conn.prepareStatement(updateFishCountSQL)) {
 
             pstmt.setInt(1, fishCount);
             pstmt.setString(2, playerName);
             pstmt.setInt(3, fishCount);
 
-            int rowsAffected = pstmt.executeUpdate();
+            int rowsAffected = executeUpdate(pstmt);
+            rows = rowsAffected;
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("Error updating high fish count: " + e.getMessage());
+            LOG.error("Error updating high fish count: {}", e.getMessage());
+            event.success = false;
             return false;
+        } finally {
+            commitEvent(event, "updateHighFishCount", "players.update_high_fish_count", rows);
         }
     }
 
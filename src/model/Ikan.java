@@ -93,6 +93,10 @@ public class Ikan {
         return movingRight;
     }
 
+    public void setMovingRight(boolean movingRight) {
+        this.movingRight = movingRight;
+    }
+
     public int getMoveSpeed() {
         return moveSpeed;
     }
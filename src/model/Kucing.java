@@ -85,6 +85,8 @@ public class Kucing {
     }
 
     public void setCurrentImage(Image currentImage) { this.currentImage = currentImage; }
+    // Gambar arah terakhir tanpa aksi 'X' (untuk snapshot)
+    public Image getFacingImage() { return currentImage; }
 
     public int getVelocityX() {  return velocityX; }
 
@@ -208,6 +210,18 @@ public class Kucing {
         return isHandReturning;
     }
 
+    // Pulihkan seluruh state tangan sekaligus (dipakai saat memuat snapshot)
+    public void restoreHandState(boolean active, boolean returning, boolean delivering,
+            int targetX, int targetY, int currentX, int currentY) {
+        this.isHandActive = active;
+        this.isHandReturning = returning;
+        this.isHandDelivering = delivering;
+        this.handTargetX = targetX;
+        this.handTargetY = targetY;
+        this.handCurrentX = currentX;
+        this.handCurrentY = currentY;
+    }
+
     public void updatePosition(int panelWidth, int panelHeight) {
         // Tentukan margin dari tepi panel (kotak transparan)
         int margin = 100; // 220 pixel dari tepi
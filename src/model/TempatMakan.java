@@ -83,6 +83,10 @@ public class TempatMakan {
         this.fishCount = 0;
     }
 
+    public void setFishCount(int fishCount) {
+        this.fishCount = fishCount;
+    }
+
     // Method untuk mengecek apakah mouse berada di atas tempat makan
     public boolean isMouseOver(int mouseX, int mouseY) {
         return mouseX >= posX && mouseX <= posX + width &&
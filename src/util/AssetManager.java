@@ -0,0 +1,58 @@
+package util;
+
+import javax.swing.ImageIcon;
+import java.awt.Image;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AssetManager - Satu pintu untuk load gambar dari folder assets
+ *
+ * Gambar di-decode sekali per path lalu disimpan, sehingga aset yang dipakai
+ * beberapa class (background di menu dan game, gambar ikan di IkanPanel dan
+ * KucingViewModelNew) atau dimuat ulang setiap restart game tidak di-decode
+ * berulang kali. Setiap load tercatat sebagai event JFR tmd.AssetLoad.
+ */
+public class AssetManager {
+    private static AssetManager instance;
+
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+
+    private AssetManager() {
+    }
+
+    public static synchronized AssetManager getInstance() {
+        if (instance == null) {
+            instance = new AssetManager();
+        }
+        return instance;
+    }
+
+    // Load gambar dari classpath (misalnya "/assets/ikan1.png"), hasil di-cache per path
+    // Melempar IllegalArgumentException jika aset tidak ditemukan
+    public Image getImage(String path) {
+        JfrEvents.AssetLoad event = new JfrEvents.AssetLoad();
+        event.begin();
+        Image cached = images.get(path);
+        Image image = cached != null ? cached : images.computeIfAbsent(path, this::decode);
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.cacheHit = cached != null;
+            event.width = image.getWidth(null);
+            event.height = image.getHeight(null);
+            event.commit();
+        }
+        return image;
+    }
+
+    private Image decode(String path) {
+        URL url = AssetManager.class.getResource(path);
+        if (url == null) {
+            throw new IllegalArgumentException("Asset tidak ditemukan: " + path);
+        }
+        // ImageIcon menunggu sampai gambar selesai di-decode (MediaTracker)
+        return new ImageIcon(url).getImage();
+    }
+}
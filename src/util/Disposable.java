@@ -0,0 +1,13 @@
+package util;
+
+/**
+ * Disposable - Kontrak untuk objek yang memegang resource (timer, listener,
+ * surface grafis, audio line) yang harus dilepas secara eksplisit.
+ *
+ * Setelah dispose() dipanggil, objek tidak boleh dipakai lagi. Memanggil
+ * dispose() lebih dari sekali harus aman.
+ */
+@FunctionalInterface
+public interface Disposable {
+    void dispose();
+}
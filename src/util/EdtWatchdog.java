@@ -0,0 +1,278 @@
+package util;
+
+import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * EdtWatchdog - Pendeteksi Event Dispatch Thread yang macet
+ *
+ * Thread watchdog mengirim heartbeat ke EDT lewat invokeLater dan mencatat
+ * kapan heartbeat itu dijalankan. Jika heartbeat belum jalan setelah
+ * threshold (tmd.edt.threshold, default 200 ms), EDT dianggap macet: stack
+ * trace EDT diambil setiap interval cek selama macet dan dikelompokkan per
+ * "stall site", yaitu frame pertama dari kode game (model/view/viewmodel/util)
+ * sehingga stall di dalam JDBC, ImageIO, atau AudioSystem tetap tertuju ke
+ * pemanggilnya di game.
+ *
+ * Hasil tersedia lewat Metrics (edt.stalls, edt.stall_ms, edt.latency_us) dan
+ * MXBean tmd:type=EdtWatchdog (daftar stall site teratas dan laporan teks).
+ * Stall site baru dicatat ke Log (WARN) sekali beserta stack trace-nya,
+ * laporan lengkap dicatat saat JVM berhenti jika ada stall.
+ */
+public final class EdtWatchdog implements EdtWatchdogMXBean {
+    public static final String THRESHOLD_PROPERTY = "tmd.edt.threshold";
+    private static final Log LOG = Log.get(EdtWatchdog.class);
+
+    // Prefix package game untuk menentukan stall site
+    private static final String[] GAME_PACKAGES = { "model.", "view.", "viewmodel.", "util." };
+    private static final int STACK_DEPTH = 16; // Jumlah frame yang disimpan per site
+    private static final int TOP_SITES = 10;
+
+    private static final Metrics.Counter STALLS = Metrics.counter("edt.stalls");
+    private static final Metrics.Histogram STALL_MS = Metrics.histogram("edt.stall_ms");
+    private static final Metrics.Histogram LATENCY_US = Metrics.histogram("edt.latency_us");
+
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final long checkIntervalMillis;
+    private volatile Thread edtThread;
+    private volatile long postedAt = 0; // 0 = tidak ada heartbeat yang menunggu
+
+    // State stall, dijaga oleh lock this
+    private final Map<String, StallSite> sites = new HashMap<>();
+    private StallSite currentStall; // Site stall yang sedang berlangsung
+    private long stallCount = 0;
+
+    private EdtWatchdog(long thresholdMillis) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.checkIntervalMillis = Math.max(10, thresholdMillis / 4);
+    }
+
+    // Menjalankan watchdog (sekali per JVM) dan mendaftarkan MXBean-nya
+    // Return null jika dimatikan dengan -Dtmd.edt.threshold=0
+    public static synchronized EdtWatchdog start() {
+        long thresholdMillis = Long.getLong(THRESHOLD_PROPERTY, 200);
+        if (instance == null && thresholdMillis > 0) {
+            instance = new EdtWatchdog(thresholdMillis);
+            Metrics.mxbean("EdtWatchdog", instance, EdtWatchdogMXBean.class);
+
+            // Heartbeat pertama dikirim sekarang, bukan setelah interval cek pertama,
+            // supaya antri sebelum pekerjaan startup yang di-invokeLater sesudah start()
+            instance.postHeartbeat();
+            Thread thread = new Thread(instance::watch, "edt-watchdog");
+            thread.setDaemon(true);
+            thread.start();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (instance.getStallCount() > 0) {
+                    LOG.warn(instance.getReport());
+                    Log.flush(200);
+                }
+            }, "edt-watchdog-report"));
+        }
+        return instance;
+    }
+
+    public static synchronized EdtWatchdog getInstance() {
+        return instance;
+    }
+
+    // Loop thread watchdog: kirim heartbeat, atau ambil sampel jika heartbeat terlambat
+    private void watch() {
+        while (true) {
+            try {
+                Thread.sleep(checkIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long posted = postedAt;
+            if (posted == 0) {
+                postHeartbeat();
+            } else if (System.nanoTime() - posted >= thresholdNanos) {
+                sample();
+            }
+        }
+    }
+
+    private void postHeartbeat() {
+        postedAt = System.nanoTime();
+        EventQueue.invokeLater(this::heartbeat);
+    }
+
+    // Dijalankan di EDT: heartbeat sampai, stall (jika ada) selesai
+    private void heartbeat() {
+        edtThread = Thread.currentThread();
+        long latency = System.nanoTime() - postedAt;
+        LATENCY_US.record(latency / 1000);
+
+        synchronized (this) {
+            if (currentStall != null) {
+                currentStall.record(latency);
+                STALL_MS.record(latency / 1_000_000);
+                currentStall = null;
+            } else if (latency >= thresholdNanos) {
+                // Stall selesai sebelum sempat diambil sampelnya
+                StallSite site = sites.computeIfAbsent("(tidak tersampel)", StallSite::new);
+                site.stalls++;
+                stallCount++;
+                STALLS.inc();
+                site.record(latency);
+                STALL_MS.record(latency / 1_000_000);
+            }
+        }
+        postedAt = 0;
+    }
+
+    // Ambil stack trace EDT yang sedang macet dan catat ke stall site-nya
+    private void sample() {
+        Thread edt = edtThread;
+        if (edt == null) {
+            // Heartbeat pertama belum jalan: EDT sudah macet sejak sebelum watchdog
+            // start (misalnya konstruksi menu), cari thread-nya lewat nama
+            edt = findEdt();
+            if (edt == null) {
+                return;
+            }
+            edtThread = edt;
+        }
+        StackTraceElement[] stack = edt.getStackTrace();
+        String key = siteOf(stack);
+
+        boolean firstSeen;
+        synchronized (this) {
+            StallSite site = sites.get(key);
+            firstSeen = site == null;
+            if (firstSeen) {
+                site = new StallSite(key);
+                sites.put(key, site);
+            }
+            site.samples++;
+            site.topFrame = stack.length > 0 ? stack[0].toString() : "?";
+            site.stack = stack;
+            if (currentStall == null) {
+                currentStall = site;
+                site.stalls++;
+                stallCount++;
+                STALLS.inc();
+            }
+        }
+
+        if (firstSeen) {
+            StringBuilder message = new StringBuilder("EDT stall > ")
+                    .append(thresholdNanos / 1_000_000).append(" ms di ").append(key).append('\n');
+            appendStack(message, stack);
+            LOG.warn(message.toString());
+        }
+    }
+
+    // Thread EDT berdasarkan nama bawaan AWT, null jika EDT belum dibuat
+    private static Thread findEdt() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("AWT-EventQueue-")) {
+                return thread;
+            }
+        }
+        return null;
+    }
+
+    // Frame pertama dari kode game (bukan watchdog), atau frame teratas jika tidak ada
+    private static String siteOf(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (className.startsWith(EdtWatchdog.class.getName())) {
+                continue;
+            }
+            for (String prefix : GAME_PACKAGES) {
+                if (className.startsWith(prefix)) {
+                    return frame.toString();
+                }
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : "(stack kosong)";
+    }
+
+    private static void appendStack(StringBuilder out, StackTraceElement[] stack) {
+        for (int i = 0; i < Math.min(STACK_DEPTH, stack.length); i++) {
+            out.append("        at ").append(stack[i]).append('\n');
+        }
+    }
+
+    // Site diurutkan dari total waktu stall terbesar
+    private synchronized List<StallSite> topSites() {
+        List<StallSite> sorted = new ArrayList<>(sites.values());
+        sorted.sort((a, b) -> Long.compare(b.totalNanos, a.totalNanos));
+        return sorted.subList(0, Math.min(TOP_SITES, sorted.size()));
+    }
+
+    @Override
+    public synchronized long getStallCount() {
+        return stallCount;
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        return thresholdNanos / 1_000_000;
+    }
+
+    @Override
+    public synchronized String[] getTopStallSites() {
+        List<StallSite> top = topSites();
+        String[] lines = new String[top.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = top.get(i).summary();
+        }
+        return lines;
+    }
+
+    @Override
+    public synchronized String getReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("=== EDT STALL REPORT (threshold ").append(getThresholdMillis())
+                .append(" ms, ").append(getStallCount()).append(" stall) ===\n");
+        for (StallSite site : topSites()) {
+            report.append(site.summary()).append('\n');
+            report.append("    blocked in ").append(site.topFrame).append('\n');
+            if (site.stack != null) {
+                appendStack(report, site.stack);
+            }
+        }
+        return report.toString();
+    }
+
+    @Override
+    public synchronized void reset() {
+        sites.clear();
+        currentStall = null;
+        stallCount = 0;
+    }
+
+    // Statistik satu stall site
+    private static class StallSite {
+        final String key;
+        long stalls = 0;
+        long samples = 0;
+        long totalNanos = 0;
+        long maxNanos = 0;
+        String topFrame = "?";
+        StackTraceElement[] stack;
+
+        StallSite(String key) {
+            this.key = key;
+        }
+
+        void record(long nanos) {
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "%s stalls=%d samples=%d total=%.0fms max=%.0fms",
+                    key, stalls, samples, totalNanos / 1e6, maxNanos / 1e6);
+        }
+    }
+}
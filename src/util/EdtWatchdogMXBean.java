@@ -0,0 +1,18 @@
+package util;
+
+/**
+ * EdtWatchdogMXBean - Tampilan JMX EdtWatchdog (tmd:type=EdtWatchdog)
+ */
+public interface EdtWatchdogMXBean {
+    long getStallCount();
+
+    long getThresholdMillis();
+
+    // Ringkasan stall site teratas (berdasarkan total waktu stall)
+    String[] getTopStallSites();
+
+    // Laporan teks lengkap beserta stack trace contoh per site
+    String getReport();
+
+    void reset();
+}
@@ -0,0 +1,360 @@
+package util;
+
+import java.awt.EventQueue;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * FrameProfiler - Profiler waktu frame per subsistem di EDT
+ *
+ * Setiap subsistem (input, tick kucing, tick ikan, pengantaran, event, dan
+ * setiap layer paint) dibungkus begin(section)/end(section). Waktu dihitung
+ * eksklusif: jika section bersarang (misalnya event yang di-fire dari tick
+ * kucing), waktu section dalam tidak ikut dihitung di section luar. Satu
+ * frame berakhir saat endFrame() dipanggil setelah game area selesai digambar;
+ * semua waktu sejak frame sebelumnya masuk ke frame tersebut, sisanya
+ * (idle/tidak terukur) tercatat sebagai "other".
+ *
+ * Frame disimpan di ring buffer, statistik p50/p95/p99/worst dihitung untuk
+ * frame dalam N detik terakhir (tmd.profiler.window, default 10).
+ * Aktif sejak start jika -Dtmd.profiler=true, atau lewat setEnabled() (F3).
+ * Dengan -Dtmd.profiler.log=<detik> ringkasan ditulis berkala ke Log.
+ *
+ * Hanya mencatat dari Event Dispatch Thread; panggilan dari thread lain
+ * (misalnya simulasi headless lewat tick()) diabaikan. Jika tidak aktif,
+ * begin/end hanya membaca satu flag volatile.
+ */
+public final class FrameProfiler {
+    public static final String ENABLED_PROPERTY = "tmd.profiler";
+    public static final String WINDOW_PROPERTY = "tmd.profiler.window";
+    public static final String LOG_PROPERTY = "tmd.profiler.log";
+    public static final String DIR_PROPERTY = "tmd.profiler.dir";
+    private static final Log LOG = Log.get(FrameProfiler.class);
+
+    // Subsistem yang diukur, urutan ini juga urutan warna di overlay
+    public enum Section {
+        INPUT("input"),
+        KUCING_TICK("kucing_tick"),
+        IKAN_TICK("ikan_tick"),
+        DELIVERY("delivery"),
+        EVENTS("events"),
+        PAINT_BACKGROUND("paint_background"),
+        PAINT_IKAN("paint_ikan"),
+        PAINT_TEMPAT_MAKAN("paint_tempat_makan"),
+        PAINT_HAND("paint_hand"),
+        PAINT_KUCING("paint_kucing"),
+        PAINT_HUD("paint_hud");
+
+        public final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Section[] SECTIONS = Section.values();
+    // Kolom tambahan setelah semua section untuk waktu yang tidak terukur
+    public static final int OTHER = SECTIONS.length;
+    public static final String OTHER_LABEL = "other";
+
+    // 4096 frame = lebih dari 1 menit pada 60 FPS
+    private static final int CAPACITY = 4096;
+    private static final int MAX_DEPTH = 16;
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static final long windowNanos = Long.getLong(WINDOW_PROPERTY, 10) * 1_000_000_000L;
+    private static final long logIntervalNanos = Long.getLong(LOG_PROPERTY, 0) * 1_000_000_000L;
+
+    // Ring buffer frame: waktu akhir frame, total, dan waktu per section (ns)
+    private static final long[] frameEnd = new long[CAPACITY];
+    private static final long[] frameTotal = new long[CAPACITY];
+    private static final long[][] frameSections = new long[CAPACITY][OTHER + 1];
+    private static int head = 0; // Index frame berikutnya
+    private static int count = 0;
+
+    // State frame yang sedang berjalan (hanya disentuh dari EDT)
+    private static final long[] current = new long[OTHER];
+    private static final Section[] stack = new Section[MAX_DEPTH];
+    private static int depth = 0;
+    private static long segmentStart = 0;
+    private static long lastFrameEnd = 0;
+    private static long lastLog = 0;
+
+    private FrameProfiler() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Mengaktifkan/menonaktifkan profiler, data lama dibuang saat diaktifkan
+    public static void setEnabled(boolean on) {
+        if (on && !enabled) {
+            EventQueue.invokeLater(FrameProfiler::reset);
+        }
+        enabled = on;
+    }
+
+    // Mulai mengukur section (waktu section luar dihentikan sementara)
+    public static void begin(Section section) {
+        if (!enabled || !EventQueue.isDispatchThread()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (depth > 0) {
+            current[stack[depth - 1].ordinal()] += now - segmentStart;
+        }
+        if (depth < MAX_DEPTH) {
+            stack[depth] = section;
+        }
+        depth++;
+        segmentStart = now;
+    }
+
+    // Selesai mengukur section, waktu section luar dilanjutkan
+    public static void end(Section section) {
+        if (!enabled || !EventQueue.isDispatchThread() || depth == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (depth <= MAX_DEPTH) {
+            current[stack[depth - 1].ordinal()] += now - segmentStart;
+        }
+        depth--;
+        segmentStart = now;
+    }
+
+    // Menutup frame: dipanggil sekali setelah game area selesai digambar
+    public static void endFrame() {
+        if (!enabled || !EventQueue.isDispatchThread()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastFrameEnd == 0) {
+            // Frame pertama setelah aktif hanya menjadi titik acuan
+            lastFrameEnd = now;
+            lastLog = now;
+            Arrays.fill(current, 0);
+            depth = 0;
+            return;
+        }
+
+        long total = now - lastFrameEnd;
+        long[] record = frameSections[head];
+        long measured = 0;
+        for (int i = 0; i < OTHER; i++) {
+            record[i] = current[i];
+            measured += current[i];
+        }
+        record[OTHER] = Math.max(0, total - measured);
+        frameEnd[head] = now;
+        frameTotal[head] = total;
+        head = (head + 1) % CAPACITY;
+        count = Math.min(count + 1, CAPACITY);
+
+        Arrays.fill(current, 0);
+        depth = 0; // Section yang tidak ditutup (exception) dibuang
+        lastFrameEnd = now;
+
+        if (logIntervalNanos > 0 && now - lastLog >= logIntervalNanos) {
+            lastLog = now;
+            LOG.info(snapshot().toLogLine());
+        }
+    }
+
+    private static void reset() {
+        head = 0;
+        count = 0;
+        depth = 0;
+        lastFrameEnd = 0;
+        Arrays.fill(current, 0);
+    }
+
+    // Menyalin waktu frame terakhir (ns) untuk histogram overlay, terbaru di akhir
+    // Baris ke-i berisi waktu per section + other untuk frame ke-i
+    public static long[][] recentFrames(int max) {
+        int n = Math.min(max, count);
+        long[][] frames = new long[n][];
+        for (int i = 0; i < n; i++) {
+            int index = Math.floorMod(head - n + i, CAPACITY);
+            frames[i] = frameSections[index].clone();
+        }
+        return frames;
+    }
+
+    // Statistik frame dalam window N detik terakhir
+    public static Summary snapshot() {
+        long now = System.nanoTime();
+        int n = 0;
+        while (n < count && now - frameEnd[Math.floorMod(head - 1 - n, CAPACITY)] <= windowNanos) {
+            n++;
+        }
+
+        long[] totals = new long[n];
+        long[][] columns = new long[OTHER + 1][n];
+        int worst = -1;
+        for (int i = 0; i < n; i++) {
+            int index = Math.floorMod(head - 1 - i, CAPACITY);
+            totals[i] = frameTotal[index];
+            for (int s = 0; s <= OTHER; s++) {
+                columns[s][i] = frameSections[index][s];
+            }
+            if (worst < 0 || frameTotal[index] > frameTotal[worst]) {
+                worst = index;
+            }
+        }
+
+        Summary summary = new Summary();
+        summary.windowSeconds = windowNanos / 1e9;
+        summary.frames = n;
+        summary.frame = Stats.of(totals);
+        summary.sections = new Stats[OTHER + 1];
+        for (int s = 0; s <= OTHER; s++) {
+            summary.sections[s] = Stats.of(columns[s]);
+        }
+        summary.histogram = new int[HISTOGRAM_EDGES_MS.length + 1];
+        for (long total : totals) {
+            summary.histogram[histogramBucket(total / 1e6)]++;
+        }
+        if (worst >= 0) {
+            summary.worstFrameAgoMs = (now - frameEnd[worst]) / 1e6;
+            summary.worstFrameSections = new double[OTHER + 1];
+            for (int s = 0; s <= OTHER; s++) {
+                summary.worstFrameSections[s] = frameSections[worst][s] / 1e6;
+            }
+        }
+        return summary;
+    }
+
+    // Menulis snapshot ke file JSON di tmd.profiler.dir (default direktori kerja)
+    public static Path dump() throws IOException {
+        String name = "frame-profile-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json";
+        Path file = Paths.get(System.getProperty(DIR_PROPERTY, ".")).resolve(name);
+        try (Writer writer = new FileWriter(file.toFile())) {
+            writer.write(snapshot().toJson());
+        }
+        return file;
+    }
+
+    // Nama kolom ke-i (section atau other)
+    public static String label(int column) {
+        return column < OTHER ? SECTIONS[column].label : OTHER_LABEL;
+    }
+
+    // Batas atas bucket histogram waktu frame (ms), bucket terakhir tanpa batas
+    public static final double[] HISTOGRAM_EDGES_MS = { 4, 8, 16.7, 33.3, 50, 100 };
+
+    private static int histogramBucket(double ms) {
+        int bucket = 0;
+        while (bucket < HISTOGRAM_EDGES_MS.length && ms > HISTOGRAM_EDGES_MS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // Persentil dan nilai terburuk satu kolom (ms)
+    public static class Stats {
+        public double p50;
+        public double p95;
+        public double p99;
+        public double max;
+        public double mean;
+
+        static Stats of(long[] values) {
+            Stats stats = new Stats();
+            if (values.length == 0) {
+                return stats;
+            }
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            long sum = 0;
+            for (long value : sorted) {
+                sum += value;
+            }
+            stats.p50 = percentile(sorted, 0.50);
+            stats.p95 = percentile(sorted, 0.95);
+            stats.p99 = percentile(sorted, 0.99);
+            stats.max = sorted[sorted.length - 1] / 1e6;
+            stats.mean = sum / 1e6 / sorted.length;
+            return stats;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        private String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"p50\":%.3f,\"p95\":%.3f,\"p99\":%.3f,\"max\":%.3f,\"mean\":%.3f}",
+                    p50, p95, p99, max, mean);
+        }
+    }
+
+    // Ringkasan window untuk overlay, log, dan dump JSON
+    public static class Summary {
+        public double windowSeconds;
+        public int frames;
+        public Stats frame;
+        public Stats[] sections; // Index sesuai Section.ordinal(), terakhir = other
+        public int[] histogram; // Jumlah frame per bucket HISTOGRAM_EDGES_MS
+        public double worstFrameAgoMs;
+        public double[] worstFrameSections; // null jika belum ada frame
+
+        public String toJson() {
+            StringBuilder json = new StringBuilder(1024);
+            json.append("{\"window_s\":").append(String.format(Locale.ROOT, "%.1f", windowSeconds));
+            json.append(",\"frames\":").append(frames);
+            json.append(",\"frame_ms\":").append(frame.toJson());
+            json.append(",\"sections_ms\":{");
+            for (int s = 0; s < sections.length; s++) {
+                json.append(s > 0 ? "," : "").append('"').append(label(s)).append("\":").append(sections[s].toJson());
+            }
+            json.append("},\"histogram\":[");
+            for (int b = 0; b < histogram.length; b++) {
+                String upper = b < HISTOGRAM_EDGES_MS.length
+                        ? String.format(Locale.ROOT, "%.1f", HISTOGRAM_EDGES_MS[b]) : "null";
+                json.append(b > 0 ? "," : "").append("{\"le_ms\":").append(upper)
+                        .append(",\"frames\":").append(histogram[b]).append('}');
+            }
+            json.append(']');
+            if (worstFrameSections != null) {
+                json.append(",\"worst_frame\":{\"ago_ms\":")
+                        .append(String.format(Locale.ROOT, "%.1f", worstFrameAgoMs))
+                        .append(",\"total_ms\":").append(String.format(Locale.ROOT, "%.3f", frame.max))
+                        .append(",\"sections_ms\":{");
+                for (int s = 0; s < worstFrameSections.length; s++) {
+                    json.append(s > 0 ? "," : "").append('"').append(label(s)).append("\":")
+                            .append(String.format(Locale.ROOT, "%.3f", worstFrameSections[s]));
+                }
+                json.append("}}");
+            }
+            return json.append("}\n").toString();
+        }
+
+        public String toLogLine() {
+            StringBuilder line = new StringBuilder(256);
+            line.append(String.format(Locale.ROOT,
+                    "[FrameProfiler] %d frames/%.0fs frame p50=%.2f p95=%.2f p99=%.2f worst=%.2f ms",
+                    frames, windowSeconds, frame.p50, frame.p95, frame.p99, frame.max));
+            if (worstFrameSections != null) {
+                // Section terbesar di frame terburuk, untuk menunjuk penyebab hitch
+                int top = 0;
+                for (int s = 1; s < worstFrameSections.length; s++) {
+                    if (worstFrameSections[s] > worstFrameSections[top]) {
+                        top = s;
+                    }
+                }
+                line.append(String.format(Locale.ROOT, " (worst: %s %.2f ms)", label(top), worstFrameSections[top]));
+            }
+            return line.toString();
+        }
+    }
+}
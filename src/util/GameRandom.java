@@ -0,0 +1,96 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * GameRandom - Generator angka acak deterministik untuk simulasi game
+ *
+ * Memakai SplitMix64: state satu long yang ditambah konstanta tetap setiap
+ * draw lalu diacak, sehingga cepat, tanpa alokasi, dan state-nya bisa disimpan
+ * dan dipulihkan persis (getState/setState). stream(nama) membuat generator
+ * anak yang seed-nya hanya bergantung pada seed induk dan nama stream, bukan
+ * pada urutan pemakaian, jadi setiap subsistem (spawn ikan, penghindaran
+ * tabrakan, ikan milik kucing) punya deret sendiri: menambah draw di satu
+ * subsistem tidak menggeser deret subsistem lain.
+ *
+ * Seed game diambil dari -Dtmd.seed jika di-set, selain itu dari waktu.
+ * Dengan seed yang sama dan log input yang sama, satu game berjalan identik.
+ * Tidak thread-safe; setiap stream dipakai oleh satu thread simulasi.
+ */
+public final class GameRandom {
+    public static final String SEED_PROPERTY = "tmd.seed";
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private long state;
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    // Seed dari -Dtmd.seed, atau dari waktu jika tidak di-set
+    public static long defaultSeed() {
+        Long configured = Long.getLong(SEED_PROPERTY);
+        return configured != null ? configured : mix(System.nanoTime() ^ System.currentTimeMillis());
+    }
+
+    // Generator anak untuk satu subsistem, deterministik dari seed induk dan nama
+    public GameRandom stream(String name) {
+        long hash = 0xCBF29CE484222325L; // FNV-1a 64-bit
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return new GameRandom(mix(seed ^ mix(hash)));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // State saat ini, untuk disimpan di snapshot
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    // Bilangan bulat seragam di [0, bound)
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        // Rejection sampling pada 31 bit atas agar tidak bias
+        int bits;
+        int value;
+        do {
+            bits = (int) (nextLong() >>> 33);
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    // Bilangan pecahan seragam di [0, 1)
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    // Finalizer SplitMix64 (variant Stafford 13)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,144 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+/**
+ * JfrEvents - Event JFR (Java Flight Recorder) level game
+ *
+ * Event ini muncul di rekaman JFR berdampingan dengan GC, safepoint, dan
+ * event JDK lain, sehingga hitch bisa dikaitkan ke penyebabnya di game
+ * (tick yang lambat, paint, load asset, atau query database).
+ * Rekam dengan:
+ *   java -XX:StartFlightRecording=filename=tmd.jfr,settings=profile -cp ... view.App
+ *
+ * Pola pemakaian (biaya hampir nol jika JFR tidak merekam):
+ *   JfrEvents.Paint event = new JfrEvents.Paint();
+ *   event.begin();
+ *   ... kerja yang diukur ...
+ *   event.end();
+ *   if (event.shouldCommit()) {
+ *       event.component = "KucingPanel";
+ *       event.commit();
+ *   }
+ * Event frekuensi tinggi (tick dan paint) tidak menyimpan stack trace.
+ */
+public final class JfrEvents {
+    private JfrEvents() {
+    }
+
+    // Mulai event Paint di awal paintComponent
+    public static Paint beginPaint() {
+        Paint event = new Paint();
+        event.begin();
+        return event;
+    }
+
+    // Tutup event Paint di akhir paintComponent, commit jika JFR sedang merekam
+    public static void commitPaint(Paint event, String component, Graphics g) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.component = component;
+            Rectangle clip = g.getClipBounds();
+            if (clip != null) {
+                event.clipWidth = clip.width;
+                event.clipHeight = clip.height;
+            }
+            event.commit();
+        }
+    }
+
+    @Name("tmd.GameTick")
+    @Label("Game Tick")
+    @Category({ "TMD", "Game" })
+    @Description("Satu langkah logika GameViewModel (tick, hand tracking, atau countdown)")
+    @StackTrace(false)
+    public static class GameTick extends Event {
+        @Label("Kind")
+        public String kind;
+
+        @Label("Fish Count")
+        public int fishCount;
+
+        @Label("Paused")
+        public boolean paused;
+    }
+
+    @Name("tmd.FishMovement")
+    @Label("Fish Movement")
+    @Category({ "TMD", "Game" })
+    @Description("IkanViewModel.updateAllFishMovement: pergerakan, tabrakan, dan spawn ikan")
+    @StackTrace(false)
+    public static class FishMovement extends Event {
+        @Label("Fish Count")
+        public int fishCount;
+
+        @Label("Collision Checks")
+        public int collisionChecks;
+
+        @Label("Despawned")
+        public int despawned;
+
+        @Label("Spawned")
+        public int spawned;
+    }
+
+    @Name("tmd.Paint")
+    @Label("Paint")
+    @Category({ "TMD", "Render" })
+    @Description("Satu paintComponent/paintChildren komponen Swing")
+    @StackTrace(false)
+    public static class Paint extends Event {
+        @Label("Component")
+        public String component;
+
+        @Label("Clip Width")
+        public int clipWidth;
+
+        @Label("Clip Height")
+        public int clipHeight;
+    }
+
+    @Name("tmd.AssetLoad")
+    @Label("Asset Load")
+    @Category({ "TMD", "Asset" })
+    @Description("Load gambar lewat AssetManager")
+    public static class AssetLoad extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Cache Hit")
+        public boolean cacheHit;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+    }
+
+    @Name("tmd.Database")
+    @Label("Database Operation")
+    @Category({ "TMD", "Database" })
+    @Description("Satu method DatabaseManager")
+    public static class Database extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("Statement Id")
+        public String statementId;
+
+        @Label("Rows")
+        @Description("Baris yang dikembalikan (query) atau diubah (update)")
+        public int rows;
+
+        @Label("Success")
+        public boolean success;
+    }
+}
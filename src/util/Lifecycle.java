@@ -0,0 +1,95 @@
+package util;
+
+import javax.swing.Timer;
+import java.awt.event.ActionListener;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Lifecycle - Pemilik resource untuk satu ViewModel atau Panel
+ *
+ * Semua Swing Timer dan listener yang didaftarkan lewat Lifecycle akan
+ * dilepas sekaligus saat dispose() dipanggil, dengan urutan terbalik dari
+ * urutan pendaftaran (LIFO). Timer Swing yang masih berjalan dipegang oleh
+ * TimerQueue, jadi timer yang lupa di-stop akan menahan seluruh ViewModel
+ * (dan panel yang mendengarkannya) tetap hidup setiap kali game di-restart.
+ *
+ * Lifecycle juga mencatat semua timer yang dibuatnya sehingga jumlah timer
+ * yang hidup/berjalan bisa dipantau (misalnya oleh soak test restart).
+ */
+public class Lifecycle implements Disposable {
+    private static final Log LOG = Log.get(Lifecycle.class);
+
+    // Semua timer yang dibuat lewat Lifecycle dan belum di-dispose
+    private static final Set<Timer> liveTimers = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final Deque<Disposable> resources = new ArrayDeque<>();
+    private boolean disposed = false;
+
+    // Membuat Swing Timer yang otomatis di-stop dan dilepas saat dispose
+    public Timer createTimer(int delay, ActionListener listener) {
+        Timer timer = new Timer(delay, listener);
+        liveTimers.add(timer);
+        register(() -> {
+            timer.stop();
+            timer.removeActionListener(listener);
+            liveTimers.remove(timer);
+        });
+        return timer;
+    }
+
+    // Mendaftarkan resource untuk dilepas saat dispose
+    // Jika Lifecycle sudah di-dispose, resource langsung dilepas
+    public <T extends Disposable> T register(T resource) {
+        if (disposed) {
+            resource.dispose();
+        } else {
+            resources.push(resource);
+        }
+        return resource;
+    }
+
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+
+        // Lepas resource dengan urutan terbalik, satu resource gagal tidak menghentikan yang lain
+        while (!resources.isEmpty()) {
+            Disposable resource = resources.pop();
+            try {
+                resource.dispose();
+            } catch (RuntimeException e) {
+                LOG.error("Error disposing resource: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Jumlah timer yang dibuat lewat Lifecycle dan belum di-dispose
+    public static int getLiveTimerCount() {
+        return liveTimers.size();
+    }
+
+    // Jumlah timer milik Lifecycle yang sedang berjalan
+    public static int getRunningTimerCount() {
+        synchronized (liveTimers) {
+            int running = 0;
+            for (Timer timer : liveTimers) {
+                if (timer.isRunning()) {
+                    running++;
+                }
+            }
+            return running;
+        }
+    }
+}
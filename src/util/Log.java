@@ -0,0 +1,493 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log - Logger asinkron dengan ring buffer lock-free dan file bergulir
+ *
+ * Thread pemanggil hanya mengisi satu slot di ring buffer (MPSC, klaim slot
+ * dengan CAS, tanpa lock dan tanpa alokasi selain argumen pesan). Format dan
+ * I/O dikerjakan thread daemon "log-writer" yang menulis JSON Lines:
+ *   {"ts":"2026-10-19T08:15:02.113Z","level":"INFO","thread":"main","logger":"model.DatabaseManager","msg":"..."}
+ * ke file tmd.log.file (default logs/tmd.log). File digulir saat melewati
+ * tmd.log.max_kb (default 1024) dan disimpan tmd.log.files generasi
+ * (tmd.log.1, tmd.log.2, ...). Level tmd.log.console ke atas (default WARN,
+ * OFF untuk mematikan) juga dicetak ke stderr, tetap dari thread writer.
+ *
+ * Level minimum diatur dengan tmd.log.level (default INFO). Pesan debug di
+ * jalur panas dibungkus if (Log.DEBUG) { ... }: DEBUG adalah konstanta
+ * static final sehingga JIT membuang blok tersebut jika debug tidak aktif.
+ * Pesan boleh berisi placeholder {} yang diisi di thread writer, jadi
+ * string tidak dirakit di thread pemanggil. Jika buffer penuh, pesan DEBUG/INFO
+ * dibuang dan dihitung (getDroppedCount), sedangkan WARN/ERROR menunggu slot
+ * paling lama FULL_WAIT_NANOS lalu dicetak langsung ke stderr (juga jika
+ * thread writer sudah mati). Argumen yang toString()-nya melempar exception
+ * tidak menghentikan writer: pesan ditulis tanpa argumen beserta catatannya.
+ */
+public final class Log {
+    public static final String LEVEL_PROPERTY = "tmd.log.level";
+    public static final String FILE_PROPERTY = "tmd.log.file";
+    public static final String MAX_KB_PROPERTY = "tmd.log.max_kb";
+    public static final String FILES_PROPERTY = "tmd.log.files";
+    public static final String CONSOLE_PROPERTY = "tmd.log.console";
+    public static final String BUFFER_PROPERTY = "tmd.log.buffer";
+
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static final Level MIN_LEVEL = parseLevel(System.getProperty(LEVEL_PROPERTY), Level.INFO);
+    private static final Level CONSOLE_LEVEL = parseLevel(System.getProperty(CONSOLE_PROPERTY), Level.WARN);
+
+    // Konstanta untuk membungkus pesan debug di jalur panas
+    public static final boolean DEBUG = MIN_LEVEL == Level.DEBUG;
+
+    private static final long PARK_NANOS = 5_000_000L; // Jeda writer saat buffer kosong
+    private static final long FULL_WAIT_NANOS = 1_000_000_000L; // Batas tunggu WARN/ERROR saat buffer penuh
+
+    // Ring buffer MPSC: producer mengklaim posisi lewat tail, writer membaca dari head
+    private static final Slot[] slots;
+    private static final int mask;
+    private static final AtomicLong tail = new AtomicLong();
+    private static long head = 0; // Hanya diakses thread writer
+    private static final LongAdder dropped = new LongAdder();
+    private static volatile long flushedUpTo = 0; // Posisi terakhir yang sudah ditulis writer
+
+    private static final Thread writerThread;
+    private static volatile boolean closed = false;
+
+    // Output file, hanya diakses thread writer (atau shutdown hook setelah writer berhenti)
+    private static final Path file = Paths.get(System.getProperty(FILE_PROPERTY, "logs/tmd.log"));
+    private static final long maxBytes = Long.getLong(MAX_KB_PROPERTY, 1024) * 1024;
+    private static final int maxFiles = Math.max(1, Integer.getInteger(FILES_PROPERTY, 3));
+    private static Writer out;
+    private static long written = 0;
+    private static final StringBuilder line = new StringBuilder(256);
+
+    static {
+        int capacity = Integer.highestOneBit(Math.max(64, Integer.getInteger(BUFFER_PROPERTY, 4096)));
+        slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+        mask = capacity - 1;
+
+        writerThread = new Thread(Log::writerLoop, "log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::shutdown, "log-shutdown"));
+    }
+
+    private final String name;
+
+    private Log(String name) {
+        this.name = name;
+    }
+
+    // Logger untuk satu class, biasanya disimpan sebagai field static final
+    public static Log get(Class<?> owner) {
+        return new Log(owner.getName());
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(MIN_LEVEL) >= 0 && level != Level.OFF;
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, null, null, null);
+    }
+
+    public void debug(String message, Object arg) {
+        log(Level.DEBUG, message, arg, null, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        log(Level.DEBUG, message, arg1, arg2, null);
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message, null, null, null);
+    }
+
+    public void info(String message, Object arg) {
+        log(Level.INFO, message, arg, null, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        log(Level.INFO, message, arg1, arg2, null);
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message, null, null, null);
+    }
+
+    public void warn(String message, Object arg) {
+        log(Level.WARN, message, arg, null, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        log(Level.WARN, message, arg1, arg2, null);
+    }
+
+    public void error(String message, Object arg) {
+        log(Level.ERROR, message, arg, null, null);
+    }
+
+    public void error(String message, Object arg1, Object arg2) {
+        log(Level.ERROR, message, arg1, arg2, null);
+    }
+
+    // Error dengan stack trace dari exception
+    public void error(String message, Object arg, Throwable error) {
+        log(Level.ERROR, message, arg, null, error);
+    }
+
+    private void log(Level level, String message, Object arg1, Object arg2, Throwable error) {
+        if (level.compareTo(MIN_LEVEL) < 0) {
+            return;
+        }
+        if (closed) {
+            // Setelah shutdown hook selesai, tulis langsung ke stderr
+            printDirect(level, message, arg1, arg2, error);
+            return;
+        }
+
+        // Klaim satu slot (algoritma bounded queue Vyukov)
+        long position = tail.get();
+        long waitDeadline = 0;
+        Slot slot;
+        while (true) {
+            slot = slots[(int) position & mask];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // Buffer penuh: WARN/ERROR menunggu writer, level lain dibuang
+                if (level.compareTo(Level.WARN) < 0 || closed) {
+                    dropped.increment();
+                    return;
+                }
+                // Jangan menunggu selamanya: writer mati atau macet -> langsung ke stderr
+                long now = System.nanoTime();
+                if (waitDeadline == 0) {
+                    waitDeadline = now + FULL_WAIT_NANOS;
+                }
+                if (!writerThread.isAlive() || now - waitDeadline > 0) {
+                    printDirect(level, message, arg1, arg2, error);
+                    return;
+                }
+                LockSupport.unpark(writerThread);
+                LockSupport.parkNanos(100_000L);
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+
+        slot.level = level;
+        slot.timeMillis = System.currentTimeMillis();
+        slot.thread = Thread.currentThread().getName();
+        slot.logger = name;
+        slot.message = message;
+        slot.arg1 = arg1;
+        slot.arg2 = arg2;
+        slot.error = error;
+        slot.sequence = position + 1; // Publish ke writer
+
+        // Bangunkan writer untuk pesan penting atau setiap seperempat buffer terisi
+        if (level.compareTo(Level.WARN) >= 0 || (position & (mask >> 2)) == 0) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    // Cetak pesan langsung ke stderr dari thread pemanggil
+    private void printDirect(Level level, String message, Object arg1, Object arg2, Throwable error) {
+        StringBuilder text = new StringBuilder(128);
+        appendText(text, level, System.currentTimeMillis(), Thread.currentThread().getName(),
+                name, formatSafely(message, arg1, arg2), error != null ? stackTrace(error) : null);
+        System.err.print(text);
+    }
+
+    public static long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Menunggu sampai semua pesan yang sudah masuk buffer ditulis (maksimal timeoutMillis)
+    public static void flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        LockSupport.unpark(writerThread);
+        while (!closed && flushedUpTo < target && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+
+    // Loop thread writer: kuras buffer, flush file, tidur sebentar jika kosong
+    private static void writerLoop() {
+        while (!closed) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    // Menulis semua slot yang sudah di-publish, return jumlah pesan
+    private static int drain() {
+        int count = 0;
+        while (true) {
+            Slot slot = slots[(int) head & mask];
+            if (slot.sequence != head + 1) {
+                break;
+            }
+            try {
+                write(slot);
+            } catch (RuntimeException e) {
+                // Slot tetap harus dilepas, kalau tidak producer menunggu selamanya
+                writeRecord(slot, slot.message + " [log record failed: " + e.getClass().getName() + "]", null);
+            }
+            slot.message = null;
+            slot.arg1 = null;
+            slot.arg2 = null;
+            slot.error = null;
+            slot.sequence = head + slots.length; // Slot bebas untuk putaran berikutnya
+            head++;
+            count++;
+        }
+        if (count > 0) {
+            try {
+                if (out != null) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                closeFile();
+            }
+            flushedUpTo = head;
+        }
+        return count;
+    }
+
+    private static void write(Slot slot) {
+        writeRecord(slot, formatSafely(slot.message, slot.arg1, slot.arg2),
+                slot.error != null ? stackTrace(slot.error) : null);
+    }
+
+    // Tulis satu record yang pesannya sudah diformat (ke stderr jika levelnya cukup, lalu ke file)
+    private static void writeRecord(Slot slot, String msg, String trace) {
+        if (slot.level.compareTo(CONSOLE_LEVEL) >= 0 && CONSOLE_LEVEL != Level.OFF) {
+            line.setLength(0);
+            appendText(line, slot.level, slot.timeMillis, slot.thread, slot.logger, msg, trace);
+            System.err.print(line);
+        }
+
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(slot.timeMillis)).append('"');
+        line.append(",\"level\":\"").append(slot.level).append('"');
+        line.append(",\"thread\":");
+        appendJson(slot.thread);
+        line.append(",\"logger\":");
+        appendJson(slot.logger);
+        line.append(",\"msg\":");
+        appendJson(msg);
+        if (trace != null) {
+            line.append(",\"error\":");
+            appendJson(trace);
+        }
+        line.append("}\n");
+
+        try {
+            if (out == null) {
+                openFile();
+            }
+            out.write(line.toString());
+            written += line.length();
+            if (written >= maxBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            closeFile(); // Dicoba buka lagi di pesan berikutnya
+        }
+    }
+
+    // Format teks untuk stderr: waktu, level, thread, logger, pesan
+    private static void appendText(StringBuilder text, Level level, long timeMillis, String thread,
+            String logger, String msg, String trace) {
+        text.append(Instant.ofEpochMilli(timeMillis)).append(' ')
+                .append(String.format(Locale.ROOT, "%-5s", level)).append(" [").append(thread).append("] ")
+                .append(logger.substring(logger.lastIndexOf('.') + 1)).append(" - ")
+                .append(msg).append('\n');
+        if (trace != null) {
+            text.append(trace);
+        }
+    }
+
+    // format(), tetapi argumen yang toString()-nya melempar exception diganti catatan
+    private static String formatSafely(String message, Object arg1, Object arg2) {
+        try {
+            return format(message, arg1, arg2);
+        } catch (RuntimeException e) {
+            return message + " [argument toString() failed: " + e.getClass().getName() + "]";
+        }
+    }
+
+    // Mengisi placeholder {} dengan arg1 lalu arg2
+    private static String format(String message, Object arg1, Object arg2) {
+        if (message == null) {
+            return "null";
+        }
+        int first = message.indexOf("{}");
+        if (first < 0) {
+            return message;
+        }
+        StringBuilder text = new StringBuilder(message.length() + 32);
+        text.append(message, 0, first).append(arg1);
+        int second = message.indexOf("{}", first + 2);
+        if (second < 0) {
+            return text.append(message, first + 2, message.length()).toString();
+        }
+        return text.append(message, first + 2, second).append(arg2)
+                .append(message, second + 2, message.length()).toString();
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter text = new StringWriter();
+        try {
+            error.printStackTrace(new PrintWriter(text));
+        } catch (RuntimeException e) {
+            text.write(error.getClass().getName() + " [stack trace failed: " + e.getClass().getName() + "]\n");
+        }
+        return text.toString();
+    }
+
+    private static void appendJson(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+
+    private static void openFile() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        written = Files.size(file);
+    }
+
+    // tmd.log -> tmd.log.1 -> tmd.log.2 ..., generasi tertua dihapus
+    private static void roll() throws IOException {
+        closeFile();
+        Files.deleteIfExists(rolled(maxFiles - 1));
+        for (int i = maxFiles - 2; i >= 0; i--) {
+            Path source = i == 0 ? file : rolled(i);
+            if (Files.exists(source)) {
+                Files.move(source, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        openFile();
+    }
+
+    private static Path rolled(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    private static void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // File sudah tidak bisa ditulis, abaikan
+            }
+            out = null;
+        }
+    }
+
+    // Shutdown hook: hentikan writer, kuras sisa buffer, tutup file
+    // Hanya dikuras di sini jika writer sudah berhenti: head dan line milik satu consumer
+    private static void shutdown() {
+        flush(500);
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writerThread.isAlive()) {
+            drain();
+            closeFile();
+        }
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null || value.isEmpty()) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    // Satu entri ring buffer, dipakai ulang (tanpa alokasi per pesan)
+    private static final class Slot {
+        volatile long sequence;
+        Level level;
+        long timeMillis;
+        String thread;
+        String logger;
+        String message;
+        Object arg1;
+        Object arg2;
+        Throwable error;
+
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
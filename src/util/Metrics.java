@@ -0,0 +1,261 @@
+package util;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics - Registry counter, gauge, dan histogram untuk dipantau lewat JMX
+ *
+ * Metric dibuat sekali (biasanya sebagai field static) lewat counter(),
+ * gauge(), atau histogram() dan aman di-update dari thread mana pun tanpa
+ * lock (LongAdder). Setelah registerJmx() dipanggil, setiap metric terlihat
+ * sebagai platform MBean dengan nama:
+ *   tmd:type=Counter,name=fish.spawned      (Count)
+ *   tmd:type=Gauge,name=fish.alive          (Value)
+ *   tmd:type=Histogram,name=db.latency_us   (Count, Mean, Max, 50th/95th/99thPercentile)
+ * sehingga bisa dibaca dengan jconsole atau JMX scraper lokal. Komponen dengan
+ * data yang lebih kaya (misalnya laporan EdtWatchdog) bisa mendaftarkan MXBean
+ * sendiri lewat mxbean(), terlihat sebagai tmd:type=<nama>.
+ *
+ * Histogram memakai bucket pangkat dua (64 bucket), jadi persentil yang
+ * dilaporkan adalah batas atas bucket (error maksimal 2x) dengan biaya
+ * record yang konstan dan tanpa alokasi.
+ */
+public final class Metrics {
+    // System property untuk mematikan export JMX (default aktif)
+    public static final String JMX_PROPERTY = "tmd.metrics.jmx";
+    private static final String DOMAIN = "tmd";
+    private static final Log LOG = Log.get(Metrics.class);
+
+    private static final Map<String, Object> metrics = new ConcurrentHashMap<>();
+    private static volatile MBeanServer server;
+
+    private Metrics() {
+    }
+
+    // Counter dengan nama tertentu, dibuat jika belum ada
+    public static Counter counter(String name) {
+        return (Counter) metrics.computeIfAbsent(name, key -> export(key, new Counter()));
+    }
+
+    // Histogram dengan nama tertentu, dibuat jika belum ada
+    public static Histogram histogram(String name) {
+        return (Histogram) metrics.computeIfAbsent(name, key -> export(key, new Histogram()));
+    }
+
+    // Gauge membaca nilai dari supplier saat di-query; mendaftar ulang nama yang sama mengganti supplier
+    public static void gauge(String name, LongSupplier supplier) {
+        Object existing = metrics.get(name);
+        if (existing instanceof Gauge) {
+            ((Gauge) existing).supplier = supplier;
+        } else {
+            metrics.computeIfAbsent(name, key -> export(key, new Gauge(supplier)));
+        }
+    }
+
+    // MXBean milik komponen lain, di-export bersama metric sebagai tmd:type=<type>
+    public static <T> void mxbean(String type, T impl, Class<T> iface) {
+        metrics.computeIfAbsent("mxbean:" + type, key -> export(key, new Bean<>(type, impl, iface)));
+    }
+
+    // Export semua metric (yang sudah dan akan dibuat) ke platform MBeanServer
+    public static synchronized void registerJmx() {
+        if (server != null || !Boolean.parseBoolean(System.getProperty(JMX_PROPERTY, "true"))) {
+            return;
+        }
+        server = ManagementFactory.getPlatformMBeanServer();
+        metrics.forEach(Metrics::register);
+    }
+
+    private static Object export(String name, Object metric) {
+        if (server != null) {
+            register(name, metric);
+        }
+        return metric;
+    }
+
+    private static void register(String name, Object metric) {
+        try {
+            if (metric instanceof Bean) {
+                registerBean((Bean<?>) metric);
+                return;
+            }
+            String type = metric.getClass().getSimpleName();
+            ObjectName objectName = new ObjectName(DOMAIN, new Hashtable<>(Map.of(
+                    "type", type, "name", name.replaceAll("[^A-Za-z0-9._-]", "_"))));
+            if (server.isRegistered(objectName)) {
+                return;
+            }
+            if (metric instanceof Counter) {
+                server.registerMBean(new StandardMBean((Counter) metric, CounterMBean.class), objectName);
+            } else if (metric instanceof Gauge) {
+                server.registerMBean(new StandardMBean((Gauge) metric, GaugeMBean.class), objectName);
+            } else {
+                server.registerMBean(new StandardMBean((Histogram) metric, HistogramMBean.class), objectName);
+            }
+        } catch (JMException e) {
+            LOG.error("Error registering metric {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static <T> void registerBean(Bean<T> bean) throws JMException {
+        ObjectName objectName = new ObjectName(DOMAIN, "type", bean.type);
+        if (!server.isRegistered(objectName)) {
+            server.registerMBean(new StandardMBean(bean.impl, bean.iface, true), objectName);
+        }
+    }
+
+    private static final class Bean<T> {
+        final String type;
+        final T impl;
+        final Class<T> iface;
+
+        Bean(String type, T impl, Class<T> iface) {
+            this.type = type;
+            this.impl = impl;
+            this.iface = iface;
+        }
+    }
+
+    // Interface MBean yang terlihat di jconsole
+    public interface CounterMBean {
+        long getCount();
+    }
+
+    public interface GaugeMBean {
+        long getValue();
+    }
+
+    public interface HistogramMBean {
+        long getCount();
+
+        double getMean();
+
+        long getMax();
+
+        long get50thPercentile();
+
+        long get95thPercentile();
+
+        long get99thPercentile();
+    }
+
+    // Counter yang hanya naik
+    public static final class Counter implements CounterMBean {
+        private final LongAdder count = new LongAdder();
+
+        public void inc() {
+            count.increment();
+        }
+
+        public void add(long n) {
+            count.add(n);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    // Gauge yang nilainya dibaca dari supplier
+    public static final class Gauge implements GaugeMBean {
+        private volatile LongSupplier supplier;
+
+        private Gauge(LongSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public long getValue() {
+            return supplier.getAsLong();
+        }
+    }
+
+    // Histogram nilai non-negatif dengan bucket pangkat dua
+    public static final class Histogram implements HistogramMBean {
+        private static final int BUCKETS = 64;
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        // Bucket b berisi nilai [2^(b-1), 2^b - 1], bucket 0 hanya nilai 0
+        public void record(long value) {
+            value = Math.max(0, value);
+            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value))].increment();
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public double getMean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        @Override
+        public long getMax() {
+            return max.get();
+        }
+
+        @Override
+        public long get50thPercentile() {
+            return percentile(0.50);
+        }
+
+        @Override
+        public long get95thPercentile() {
+            return percentile(0.95);
+        }
+
+        @Override
+        public long get99thPercentile() {
+            return percentile(0.99);
+        }
+
+        // Batas atas bucket yang memuat persentil p (tidak lebih dari max)
+        private long percentile(double p) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    long upper = i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+                    return Math.min(upper, max.get());
+                }
+            }
+            return max.get();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package util;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SfxMixer - Mixer software untuk efek suara pendek ke satu SourceDataLine
+ *
+ * Sampel di-decode sekali ke PCM 16-bit mono 44.1 kHz (FORMAT) dan didaftarkan
+ * lewat register(). trigger() hanya menulis id sampel ke antrian ring lock-free
+ * lalu membangunkan thread mixer ("audio-sfx"), jadi aman dan bebas alokasi
+ * dipanggil dari EDT. Thread mixer menjumlahkan sampai N voice sekaligus per
+ * potongan 5 ms (clamp 16-bit) dan menulisnya ke line dengan buffer kecil
+ * (tmd.sfx.buffer_ms, default 15), sehingga jeda trigger sampai bunyi di
+ * bawah 20 ms. Jika semua voice terpakai, voice yang paling lama berbunyi
+ * dipakai ulang. Saat tidak ada voice aktif, thread mixer tidur sampai trigger
+ * berikutnya.
+ */
+public final class SfxMixer {
+    private static final Log LOG = Log.get(SfxMixer.class);
+    private static final Metrics.Counter TRIGGERS = Metrics.counter("sfx.triggers");
+    private static final Metrics.Counter VOICE_STEALS = Metrics.counter("sfx.voice_steals");
+
+    public static final String BUFFER_PROPERTY = "tmd.sfx.buffer_ms";
+
+    // Format tunggal mixer: 44.1 kHz, 16-bit signed, mono, little-endian
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 1, true, false);
+
+    private static final int CHUNK_FRAMES = 220; // ~5 ms per potongan
+    private static final int QUEUE_SIZE = 64; // Pangkat dua
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+
+    // Sampel terdaftar (copy-on-write), index = id sampel
+    private volatile short[][] samples = new short[0][];
+
+    // Antrian trigger: slot berisi id + 1, 0 = kosong
+    private final AtomicIntegerArray queue = new AtomicIntegerArray(QUEUE_SIZE);
+    private final AtomicInteger queueTail = new AtomicInteger();
+    private int queueHead = 0; // Hanya diakses thread mixer
+
+    // Voice, hanya diakses thread mixer
+    private final short[][] voiceSample;
+    private final int[] voicePosition;
+
+    private final int bufferMillis;
+    private volatile Thread mixerThread;
+    private volatile boolean running = false;
+
+    public SfxMixer(int voices) {
+        this.voiceSample = new short[voices][];
+        this.voicePosition = new int[voices];
+        this.bufferMillis = Math.max(5, Integer.getInteger(BUFFER_PROPERTY, 15));
+    }
+
+    // Mendaftarkan sampel PCM (FORMAT), return id untuk trigger()
+    public synchronized int register(short[] pcm) {
+        short[][] next = Arrays.copyOf(samples, samples.length + 1);
+        next[samples.length] = pcm;
+        samples = next;
+        return samples.length - 1;
+    }
+
+    // Membuka line dan menjalankan thread mixer, return false jika audio tidak tersedia
+    public synchronized boolean start() {
+        if (running) {
+            return true;
+        }
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            int bufferFrames = (int) FORMAT.getFrameRate() * bufferMillis / 1000;
+            line.open(FORMAT, Math.max(CHUNK_FRAMES * 2, bufferFrames) * FORMAT.getFrameSize());
+            line.start();
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            LOG.warn("Audio line unavailable, sound effects disabled: {}", e.getMessage());
+            return false;
+        }
+        running = true;
+        Thread thread = new Thread(() -> mix(line), "audio-sfx");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        mixerThread = thread;
+        thread.start();
+        return true;
+    }
+
+    public synchronized void close() {
+        running = false;
+        Thread thread = mixerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        mixerThread = null;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Memutar sampel, aman dipanggil dari thread mana pun tanpa alokasi dan tanpa lock
+    public void trigger(int sampleId) {
+        Thread thread = mixerThread;
+        if (thread == null) {
+            return;
+        }
+        int index = queueTail.getAndIncrement() & (QUEUE_SIZE - 1);
+        queue.set(index, sampleId + 1); // Jika antrian penuh, trigger lama tertimpa
+        TRIGGERS.inc();
+        LockSupport.unpark(thread);
+    }
+
+    // Loop thread mixer
+    private void mix(SourceDataLine line) {
+        int[] accumulator = new int[CHUNK_FRAMES];
+        byte[] out = new byte[CHUNK_FRAMES * 2];
+        try {
+            while (running) {
+                drainQueue();
+                if (!hasActiveVoice()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                Arrays.fill(accumulator, 0);
+                for (int v = 0; v < voiceSample.length; v++) {
+                    short[] sample = voiceSample[v];
+                    if (sample == null) {
+                        continue;
+                    }
+                    int position = voicePosition[v];
+                    int frames = Math.min(CHUNK_FRAMES, sample.length - position);
+                    for (int i = 0; i < frames; i++) {
+                        accumulator[i] += sample[position + i];
+                    }
+                    voicePosition[v] = position + frames;
+                    if (voicePosition[v] >= sample.length) {
+                        voiceSample[v] = null; // Voice selesai
+                    }
+                }
+
+                for (int i = 0; i < CHUNK_FRAMES; i++) {
+                    int value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, accumulator[i]));
+                    out[i * 2] = (byte) value;
+                    out[i * 2 + 1] = (byte) (value >> 8);
+                }
+                line.write(out, 0, out.length); // Blok sampai ada ruang, sekaligus pengatur tempo
+            }
+        } finally {
+            line.stop();
+            line.flush();
+            line.close();
+        }
+    }
+
+    // Pindahkan semua trigger yang menunggu ke voice
+    private void drainQueue() {
+        short[][] registered = samples;
+        while (true) {
+            int index = queueHead & (QUEUE_SIZE - 1);
+            int value = queue.getAndSet(index, 0);
+            if (value == 0) {
+                return;
+            }
+            queueHead++;
+            int id = value - 1;
+            if (id >= 0 && id < registered.length) {
+                startVoice(registered[id]);
+            }
+        }
+    }
+
+    private void startVoice(short[] sample) {
+        int chosen = -1;
+        int oldest = -1;
+        for (int v = 0; v < voiceSample.length; v++) {
+            if (voiceSample[v] == null) {
+                chosen = v;
+                break;
+            }
+            if (oldest < 0 || voicePosition[v] > voicePosition[oldest]) {
+                oldest = v;
+            }
+        }
+        if (chosen < 0) {
+            chosen = oldest;
+            VOICE_STEALS.inc();
+        }
+        voiceSample[chosen] = sample;
+        voicePosition[chosen] = 0;
+    }
+
+    private boolean hasActiveVoice() {
+        for (short[] sample : voiceSample) {
+            if (sample != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
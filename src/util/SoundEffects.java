@@ -0,0 +1,113 @@
+package util;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * SoundEffects - Efek suara game (tangkap ikan, pengantaran, waktu habis)
+ *
+ * Setiap efek dimuat dari /assets/sfx/<nama>.wav jika ada, selain itu
+ * disintesis (nada pendek). Semua sampel di-decode sekali ke format SfxMixer
+ * saat preload() dan diputar lewat satu SfxMixer bersama (tmd.sfx.voices
+ * voice, default 8). play() bebas alokasi dan tidak melakukan I/O, jadi aman
+ * dipanggil langsung dari logika game di EDT. Matikan dengan -Dtmd.sfx=false.
+ */
+public class SoundEffects {
+    private static final Log LOG = Log.get(SoundEffects.class);
+
+    public static final String ENABLED_PROPERTY = "tmd.sfx";
+    public static final String VOICES_PROPERTY = "tmd.sfx.voices";
+
+    public enum Effect {
+        CATCH("catch"),
+        DELIVERY("delivery"),
+        TIME_UP("time_up");
+
+        public final String assetName;
+
+        Effect(String assetName) {
+            this.assetName = assetName;
+        }
+    }
+
+    private static SoundEffects instance;
+
+    private final SfxMixer mixer;
+    private final int[] sampleIds = new int[Effect.values().length];
+
+    private SoundEffects() {
+        mixer = new SfxMixer(Math.max(1, Integer.getInteger(VOICES_PROPERTY, 8)));
+        for (Effect effect : Effect.values()) {
+            sampleIds[effect.ordinal()] = mixer.register(load(effect));
+        }
+        if (Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            mixer.start();
+        }
+    }
+
+    public static synchronized SoundEffects getInstance() {
+        if (instance == null) {
+            instance = new SoundEffects();
+        }
+        return instance;
+    }
+
+    // Decode semua sampel dan buka line di thread pemanggil (panggil di luar EDT saat startup)
+    public static void preload() {
+        getInstance();
+    }
+
+    public void play(Effect effect) {
+        mixer.trigger(sampleIds[effect.ordinal()]);
+    }
+
+    // Sampel dari asset WAV, atau hasil sintesis jika asset tidak ada / tidak bisa dikonversi
+    private short[] load(Effect effect) {
+        URL url = getClass().getResource("/assets/sfx/" + effect.assetName + ".wav");
+        if (url != null) {
+            try (InputStream raw = new BufferedInputStream(url.openStream());
+                    AudioInputStream source = AudioSystem.getAudioInputStream(raw);
+                    AudioInputStream pcm = AudioSystem.getAudioInputStream(SfxMixer.FORMAT, source)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                pcm.transferTo(bytes);
+                byte[] data = bytes.toByteArray();
+                short[] samples = new short[data.length / 2];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = (short) ((data[i * 2] & 0xFF) | (data[i * 2 + 1] << 8));
+                }
+                return samples;
+            } catch (UnsupportedAudioFileException | IllegalArgumentException | IOException e) {
+                LOG.warn("Cannot decode sound effect {}: {}", url, e.getMessage());
+            }
+        }
+        switch (effect) {
+            case CATCH:
+                return synthesize(new double[] { 660, 990 }, 0.06, 0.35);
+            case DELIVERY:
+                return synthesize(new double[] { 880, 1320 }, 0.10, 0.35);
+            default:
+                return synthesize(new double[] { 784, 622, 523 }, 0.16, 0.40);
+        }
+    }
+
+    // Rangkaian nada sinus dengan fade-out per nada
+    private static short[] synthesize(double[] frequencies, double noteSeconds, double volume) {
+        int rate = (int) SfxMixer.FORMAT.getSampleRate();
+        int noteFrames = (int) (rate * noteSeconds);
+        short[] samples = new short[noteFrames * frequencies.length];
+        for (int n = 0; n < frequencies.length; n++) {
+            for (int i = 0; i < noteFrames; i++) {
+                double envelope = 1.0 - (double) i / noteFrames;
+                double value = Math.sin(2 * Math.PI * frequencies[n] * i / rate) * envelope * volume;
+                samples[n * noteFrames + i] = (short) (value * Short.MAX_VALUE);
+            }
+        }
+        return samples;
+    }
+}
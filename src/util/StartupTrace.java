@@ -0,0 +1,121 @@
+package util;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * StartupTrace - Penanda fase startup dalam format JSON Lines
+ *
+ * Aktif jika system property tmd.startup.trace berisi path file output
+ * (atau "-" untuk stderr). Setiap penanda ditulis satu baris JSON:
+ *   {"phase":"db_init","uptime_ms":412.8,"duration_ms":37.2,"classes_loaded":1893,"thread":"main"}
+ * uptime_ms dihitung dari start JVM (jvm_start = 0), classes_loaded adalah
+ * jumlah class yang sudah di-load pada saat itu. Jika tidak aktif, semua
+ * method langsung return sehingga aman dipanggil dari jalur startup.
+ *
+ * Dengan tmd.startup.autoplay=true, App langsung memulai game dan keluar
+ * setelah frame game pertama (dipakai oleh scripts/startup-bench.sh).
+ */
+public final class StartupTrace {
+    public static final String TRACE_PROPERTY = "tmd.startup.trace";
+    public static final String AUTOPLAY_PROPERTY = "tmd.startup.autoplay";
+    private static final Log LOG = Log.get(StartupTrace.class);
+
+    private static final Writer out = openOutput();
+    // Uptime JVM (ms) dan nanoTime pada saat class ini di-load, sebagai titik acuan
+    private static final double anchorUptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+    private static final long anchorNanos = System.nanoTime();
+    private static final Set<String> markedOnce = new HashSet<>();
+
+    static {
+        if (out != null) {
+            write("jvm_start", 0.0, -1);
+        }
+    }
+
+    private StartupTrace() {
+    }
+
+    public static boolean isEnabled() {
+        return out != null;
+    }
+
+    public static boolean isAutoplay() {
+        return Boolean.getBoolean(AUTOPLAY_PROPERTY);
+    }
+
+    // Waktu awal untuk span(), 0 jika trace tidak aktif
+    public static long start() {
+        return out != null ? System.nanoTime() : 0L;
+    }
+
+    // Penanda satu titik waktu
+    public static void mark(String phase) {
+        if (out != null) {
+            write(phase, uptimeMs(System.nanoTime()), -1);
+        }
+    }
+
+    // Penanda yang hanya ditulis pertama kali (misalnya first_menu_paint)
+    // Return true jika penanda baru saja ditulis
+    public static boolean markOnce(String phase) {
+        if (out == null) {
+            return false;
+        }
+        synchronized (markedOnce) {
+            if (!markedOnce.add(phase)) {
+                return false;
+            }
+        }
+        mark(phase);
+        return true;
+    }
+
+    // Penanda fase dengan durasi sejak start()
+    public static void span(String phase, long startNanos) {
+        if (out != null) {
+            long now = System.nanoTime();
+            write(phase, uptimeMs(now), (now - startNanos) / 1e6);
+        }
+    }
+
+    private static double uptimeMs(long nanos) {
+        return anchorUptimeMs + (nanos - anchorNanos) / 1e6;
+    }
+
+    private static synchronized void write(String phase, double uptimeMs, double durationMs) {
+        StringBuilder line = new StringBuilder(128);
+        line.append("{\"phase\":\"").append(phase).append('"');
+        line.append(",\"uptime_ms\":").append(String.format(Locale.ROOT, "%.3f", uptimeMs));
+        if (durationMs >= 0) {
+            line.append(",\"duration_ms\":").append(String.format(Locale.ROOT, "%.3f", durationMs));
+        }
+        line.append(",\"classes_loaded\":").append(ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount());
+        line.append(",\"thread\":\"").append(Thread.currentThread().getName()).append("\"}\n");
+        try {
+            out.write(line.toString());
+            out.flush();
+        } catch (IOException e) {
+            LOG.error("Error writing startup trace: {}", e.getMessage());
+        }
+    }
+
+    private static Writer openOutput() {
+        String target = System.getProperty(TRACE_PROPERTY);
+        if (target == null || target.isEmpty()) {
+            return null;
+        }
+        try {
+            return "-".equals(target) ? new OutputStreamWriter(System.err) : new FileWriter(target, true);
+        } catch (IOException e) {
+            LOG.error("Error opening startup trace: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package util;
+
+/**
+ * TimingWheel - Penjadwal event game per tick (hierarchical hashed timing wheel)
+ *
+ * Pengganti polling per frame (counter yang dinaikkan setiap tick lalu
+ * dibandingkan dengan interval): event cukup dijadwalkan sekali dan callback
+ * dipanggil tepat di tick jatuh temponya. Schedule dan cancel O(1); setiap
+ * advance() hanya menyentuh slot tick itu, berapa pun jumlah event yang
+ * menunggu.
+ *
+ * Terdiri dari LEVELS tingkat dengan SLOTS slot. Event yang jatuh tempo dalam
+ * blok 64 tick yang sama dengan tick sekarang ada di tingkat 0; yang lebih jauh
+ * ada di tingkat atas dan diturunkan (cascade) saat blok-nya tercapai. Empat
+ * tingkat mencakup 2^24 tick (sekitar 77 jam pada 60 tick per detik); event
+ * yang lebih jauh lagi tetap benar, hanya di-cascade ulang di tingkat teratas.
+ *
+ * Tidak thread-safe: dipakai dari thread yang menjalankan langkah game.
+ * Urutan event yang jatuh tempo di tick yang sama tidak dijamin, jadi event
+ * seperti itu tidak boleh saling bergantung.
+ */
+public final class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    // Event terjadwal, dipakai untuk cancel dan membaca sisa waktu
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final int period; // 0 = sekali jalan
+        private long deadline;
+        private int bucket = -1; // Indeks slot, -1 jika tidak sedang terjadwal
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, Runnable task, int period) {
+            this.wheel = wheel;
+            this.task = task;
+            this.period = period;
+        }
+
+        // Batalkan event, return false jika sudah jalan atau sudah dibatalkan
+        public boolean cancel() {
+            if (bucket < 0) {
+                return false;
+            }
+            wheel.unlink(this);
+            wheel.pending--;
+            return true;
+        }
+
+        public boolean isPending() {
+            return bucket >= 0;
+        }
+
+        // Sisa tick sampai event jalan, 0 jika tidak sedang terjadwal
+        public int remainingTicks() {
+            return bucket >= 0 ? (int) (deadline - wheel.tick) : 0;
+        }
+
+        public int getPeriod() {
+            return period;
+        }
+    }
+
+    private final Timeout[] heads = new Timeout[LEVELS * SLOTS];
+    private final Timeout[] tails = new Timeout[LEVELS * SLOTS];
+    private long tick = 0;
+    private int pending = 0;
+
+    // Jalankan task sekali, delay tick dari sekarang (minimal 1)
+    public Timeout schedule(int delay, Runnable task) {
+        return scheduleRepeating(delay, 0, task);
+    }
+
+    // Jalankan task pertama kali setelah delay tick, lalu setiap period tick
+    public Timeout scheduleRepeating(int delay, int period, Runnable task) {
+        if (period < 0) {
+            throw new IllegalArgumentException("period must not be negative: " + period);
+        }
+        Timeout timeout = new Timeout(this, task, period);
+        timeout.deadline = tick + Math.max(1, delay);
+        link(timeout);
+        pending++;
+        return timeout;
+    }
+
+    // Maju satu tick dan jalankan semua event yang jatuh tempo
+    public void advance() {
+        tick++;
+        cascade();
+
+        int bucket = (int) (tick & SLOT_MASK);
+        Timeout timeout;
+        // Ambil satu per satu: callback boleh cancel event lain di slot yang sama.
+        // Event baru tidak pernah masuk slot ini karena deadline-nya > tick
+        while ((timeout = heads[bucket]) != null) {
+            unlink(timeout);
+            if (timeout.period > 0) {
+                timeout.deadline += timeout.period;
+                link(timeout);
+            } else {
+                pending--;
+            }
+            timeout.task.run();
+        }
+    }
+
+    // Tick sekarang, bertambah satu setiap advance()
+    public long currentTick() {
+        return tick;
+    }
+
+    // Jumlah event yang masih terjadwal
+    public int size() {
+        return pending;
+    }
+
+    // Batalkan semua event
+    public void clear() {
+        for (int i = 0; i < heads.length; i++) {
+            Timeout timeout = heads[i];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.bucket = -1;
+                timeout.prev = null;
+                timeout.next = null;
+                timeout = next;
+            }
+            heads[i] = null;
+            tails[i] = null;
+        }
+        pending = 0;
+    }
+
+    // Turunkan event tingkat atas yang blok-nya baru tercapai, mulai dari tingkat tertinggi
+    private void cascade() {
+        int level = 1;
+        while (level < LEVELS && (tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+            level++;
+        }
+        for (int l = level - 1; l >= 1; l--) {
+            int bucket = l * SLOTS + (int) ((tick >>> (SLOT_BITS * l)) & SLOT_MASK);
+            Timeout timeout = heads[bucket];
+            heads[bucket] = null;
+            tails[bucket] = null;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.prev = null;
+                timeout.next = null;
+                link(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    // Masukkan ke slot tingkat terendah yang blok-nya sama dengan tick sekarang
+    private void link(Timeout timeout) {
+        long diff = timeout.deadline ^ tick;
+        int level = 0;
+        while (level < LEVELS - 1 && (diff >>> (SLOT_BITS * (level + 1))) != 0) {
+            level++;
+        }
+        int bucket = level * SLOTS + (int) ((timeout.deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+        timeout.bucket = bucket;
+        timeout.prev = tails[bucket];
+        timeout.next = null;
+        if (tails[bucket] != null) {
+            tails[bucket].next = timeout;
+        } else {
+            heads[bucket] = timeout;
+        }
+        tails[bucket] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        int bucket = timeout.bucket;
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            heads[bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        } else {
+            tails[bucket] = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+}
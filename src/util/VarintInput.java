@@ -0,0 +1,85 @@
+package util;
+
+import java.io.IOException;
+
+/**
+ * VarintInput - Pembaca format biner dari VarintOutput
+ *
+ * Membaca langsung dari array byte tanpa menyalin. Data yang terpotong atau
+ * rusak dilaporkan sebagai IOException. Tidak thread-safe.
+ */
+public final class VarintInput {
+    private final byte[] data;
+    private int position;
+
+    public VarintInput(byte[] data) {
+        this.data = data;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public void position(int position) {
+        this.position = position;
+    }
+
+    public boolean hasRemaining() {
+        return position < data.length;
+    }
+
+    public int readByte() throws IOException {
+        if (position >= data.length) {
+            throw new IOException("Unexpected end of data at " + position);
+        }
+        return data[position++];
+    }
+
+    // Cocokkan byte berikutnya dengan magic, return false jika berbeda
+    public boolean readMagic(byte[] magic) throws IOException {
+        for (byte b : magic) {
+            if (!hasRemaining() || readByte() != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint at " + position);
+    }
+
+    // Varint yang harus muat di int tidak bertanda (jumlah, ukuran, indeks)
+    public int readUnsignedInt() throws IOException {
+        long value = readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Value out of range at " + position + ": " + value);
+        }
+        return (int) value;
+    }
+
+    public int readZigzag() throws IOException {
+        int value = (int) readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    public long readFixedLong() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | (readByte() & 0xFF);
+        }
+        return value;
+    }
+}
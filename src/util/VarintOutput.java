@@ -0,0 +1,69 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * VarintOutput - Buffer byte yang bisa tumbuh untuk format biner ringkas
+ *
+ * Bilangan ditulis sebagai varint LEB128 (7 bit per byte), bilangan bertanda
+ * lewat zigzag agar nilai negatif kecil tetap 1-2 byte. Dipakai file replay
+ * dan snapshot game. Tidak thread-safe.
+ */
+public final class VarintOutput {
+    private byte[] buffer;
+    private int length = 0;
+
+    public VarintOutput() {
+        this(256);
+    }
+
+    public VarintOutput(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public void writeByte(int value) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[length++] = (byte) value;
+    }
+
+    public void writeBytes(byte[] bytes) {
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    // Bilangan tidak bertanda (nilai negatif tetap benar, tapi 10 byte)
+    public void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    // Bilangan bertanda, zigzag lalu varint
+    public void writeZigzag(int value) {
+        writeVarint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    // 8 byte big-endian, untuk nilai yang bitnya acak (seed, state RNG)
+    public void writeFixedLong(long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            writeByte((int) (value >>> shift));
+        }
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+}
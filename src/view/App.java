@@ -7,6 +7,11 @@
 
 package view;
 
+import util.EdtWatchdog;
+import util.Lifecycle;
+import util.Log;
+import util.Metrics;
+import util.StartupTrace;
 import viewmodel.GameViewModel;
 import javax.swing.*;
 import java.awt.*;
@@ -20,12 +25,37 @@ public class App {
     private static GamePanel gamePanel;
 
     public static void main(String[] args) {
+        StartupTrace.mark("main_enter"); // Class App dan dependensinya sudah di-load
+        // Watchdog jalan sebelum GUI di-antrikan: heartbeat pertamanya masuk antrian EDT
+        // lebih dulu, jadi stall saat startup (load aset, DB) ikut tersampel
+        EdtWatchdog.start();
         SwingUtilities.invokeLater(() -> {
             createAndShowGUI();
         });
+        // Export metrics ke JMX di thread main, paralel dengan pembuatan GUI di EDT
+        long traceStart = StartupTrace.start();
+        registerMetrics();
+        StartupTrace.span("metrics_jmx", traceStart);
+        // Baca musik, decode efek suara, dan buka line audio sebelum game pertama dibuat
+        traceStart = StartupTrace.start();
+        AudioEngine.getInstance().preload();
+        StartupTrace.span("audio_preload", traceStart);
+    }
+
+    // Gauge untuk state game saat ini, lalu export semua metrics sebagai MBean
+    private static void registerMetrics() {
+        Metrics.gauge("fish.alive", () -> {
+            GameViewModel current = gameViewModel;
+            return current != null ? current.getIkanViewModel().getAvailableIkanCount() : 0;
+        });
+        Metrics.gauge("timers.live", Lifecycle::getLiveTimerCount);
+        Metrics.gauge("timers.running", Lifecycle::getRunningTimerCount);
+        Metrics.gauge("log.dropped", Log::getDroppedCount);
+        Metrics.registerJmx();
     }
 
     private static void createAndShowGUI() {
+        long traceStart = StartupTrace.start();
         frame = new JFrame("Lilo si Kucing Rakus");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setSize(820, 650); // Window size (800 + 20 border, 600 + 50 status bar)
@@ -46,12 +76,24 @@ public class App {
 
         frame.add(mainContainer);
         frame.setVisible(true);
+        StartupTrace.span("create_gui", traceStart);
+
+        // Benchmark startup: langsung main setelah menu tergambar, keluar di frame game pertama
+        if (StartupTrace.isAutoplay()) {
+            SwingUtilities.invokeLater(() -> {
+                mainMenuPanel.paintImmediately(0, 0, mainMenuPanel.getWidth(), mainMenuPanel.getHeight());
+                createFreshGamePanel("startup-bench");
+                cardLayout.show(mainContainer, "GAME");
+            });
+        }
     }
 
     // Method untuk setup MainMenuPanel
     // Ini akan menginisialisasi MainMenuPanel dan menambahkan listener untuk tombol
     private static void setupMainMenu() {
+        long traceStart = StartupTrace.start();
         mainMenuPanel = new MainMenuPanel(); // Set event listeners
+        StartupTrace.span("menu_construct", traceStart);
         mainMenuPanel.setStartGameListener(e -> {
             // Get player name dan set ke GameViewModel
             // Jika nama kosong, tampilkan pesan peringatan
@@ -85,11 +127,17 @@ public class App {
         
         // Cleanup existing game panel jika ada
         if (gamePanel != null) {
-            gamePanel.cleanup(); // Bersihkan resources yang digunakan, seperti musik, skor, poin, dll
+            gamePanel.dispose(); // Bersihkan resources yang digunakan, seperti musik, timer, listener, dll
             mainContainer.remove(gamePanel); // Hapus dari container
             gamePanel = null;
         }
 
+        // Lepas GameViewModel lama beserta semua timer 60 FPS milik ViewModel anaknya
+        if (gameViewModel != null) {
+            gameViewModel.dispose();
+            gameViewModel = null;
+        }
+
         // Buat GameViewModel baru
         gameViewModel = new GameViewModel(); // Inisialisasi GameViewModel baru
         gameViewModel.setPanelDimensions(800, 600); // Set ukuran panel game
@@ -127,14 +175,15 @@ public class App {
         
         if (gamePanel != null) {
             gamePanel.stopGame();
-            gamePanel.cleanup();
+            gamePanel.dispose();
             mainContainer.remove(gamePanel);
             gamePanel = null; // reset game
         }
 
-        // Reset game state ketika kembali ke menu
+        // Reset game state ketika kembali ke menu, lalu lepas semua timer dan listener
         if (gameViewModel != null) {
             gameViewModel.resetGameState();
+            gameViewModel.dispose();
             gameViewModel = null;
         }
 
@@ -0,0 +1,43 @@
+package view;
+
+import util.SoundEffects;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AudioEngine - Layanan audio seumur proses
+ *
+ * Memegang satu SoundPlayer per file musik dan SoundEffects bersama. Panel
+ * game yang dibuat ulang setiap "Play Again" cukup meminta player dari sini
+ * dan hanya menghentikannya saat di-dispose, jadi isi file musik (sudah di
+ * memori), thread audio, dan SourceDataLine tetap dipakai ulang: restart
+ * tidak melakukan I/O audio dan tidak membuka/menutup device audio lagi.
+ */
+public class AudioEngine {
+    public static final String BACKGROUND_MUSIC = "/assets/backgroundmusic.wav";
+
+    private static AudioEngine instance;
+
+    private final Map<String, SoundPlayer> music = new HashMap<>();
+
+    private AudioEngine() {
+    }
+
+    public static synchronized AudioEngine getInstance() {
+        if (instance == null) {
+            instance = new AudioEngine();
+        }
+        return instance;
+    }
+
+    // Player musik untuk path tertentu, dibuat sekali dan dipakai ulang antar game
+    public synchronized SoundPlayer getMusic(String path) {
+        return music.computeIfAbsent(path, SoundPlayer::new);
+    }
+
+    // Baca musik latar dan decode efek suara (panggil di luar EDT saat startup)
+    public void preload() {
+        getMusic(BACKGROUND_MUSIC).preload();
+        SoundEffects.preload();
+    }
+}
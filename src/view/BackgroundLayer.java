@@ -0,0 +1,101 @@
+package view;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * BackgroundLayer - Layer background statis yang di-render sekali
+ *
+ * Gambar background asli (2400x1800) di-scale ke ukuran panel satu kali
+ * ke dalam VolatileImage, lalu setiap repaint cukup di-blit 1:1.
+ * - contentsLost/validate ditangani: jika isi VRAM hilang, layer di-render ulang
+ * - Jika ukuran panel berubah, layer dibuat ulang sesuai ukuran baru
+ * - Saat headless (tidak ada VolatileImage), fallback ke BufferedImage
+ */
+public class BackgroundLayer {
+    private final Image source;
+    private VolatileImage volatileImage;
+    private BufferedImage fallbackImage;
+    private int width;
+    private int height;
+
+    public BackgroundLayer(Image source) {
+        this.source = source;
+    }
+
+    // Gambar background ke komponen dengan ukuran komponen saat ini
+    public void paint(Component component, Graphics g) {
+        int w = component.getWidth();
+        int h = component.getHeight();
+        if (source == null || w <= 0 || h <= 0) {
+            return;
+        }
+
+        if (w != width || h != height) {
+            // Ukuran berubah - buang layer lama, buat ulang sesuai ukuran baru
+            flush();
+            width = w;
+            height = h;
+        }
+
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        if (gc == null || GraphicsEnvironment.isHeadless()) {
+            paintFallback(g);
+            return;
+        }
+
+        do {
+            if (volatileImage == null) {
+                volatileImage = gc.createCompatibleVolatileImage(width, height);
+                renderVolatile();
+            } else {
+                int status = volatileImage.validate(gc);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    // Pindah ke device lain, buat ulang
+                    volatileImage.flush();
+                    volatileImage = gc.createCompatibleVolatileImage(width, height);
+                    renderVolatile();
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    // Surface dipulihkan tapi isinya hilang, render ulang
+                    renderVolatile();
+                }
+            }
+            g.drawImage(volatileImage, 0, 0, null);
+        } while (volatileImage.contentsLost());
+    }
+
+    private void renderVolatile() {
+        Graphics2D g2d = volatileImage.createGraphics();
+        renderSource(g2d);
+        g2d.dispose();
+    }
+
+    private void paintFallback(Graphics g) {
+        if (fallbackImage == null) {
+            fallbackImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = fallbackImage.createGraphics();
+            renderSource(g2d);
+            g2d.dispose();
+        }
+        g.drawImage(fallbackImage, 0, 0, null);
+    }
+
+    private void renderSource(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, width, height, null);
+    }
+
+    // Lepaskan surface (dipanggil saat resize atau cleanup panel)
+    public void flush() {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+        if (fallbackImage != null) {
+            fallbackImage.flush();
+            fallbackImage = null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package view;
+
+import util.FrameProfiler;
+import java.awt.*;
+import java.util.Locale;
+
+/**
+ * FrameProfilerOverlay - Overlay F3 untuk FrameProfiler
+ *
+ * Menggambar histogram bergulir waktu frame (satu batang per frame, ditumpuk
+ * per subsistem dengan warna berbeda, garis bantu 16.7 ms dan 33.3 ms) dan
+ * tabel p50/p95/p99/worst per subsistem untuk window FrameProfiler.
+ * Statistik dihitung ulang paling sering dua kali per detik.
+ */
+public class FrameProfilerOverlay {
+    private static final int BARS = 120; // Jumlah frame terakhir di histogram
+    private static final int CHART_HEIGHT = 100;
+    private static final double MS_PER_CHART = 50.0; // Tinggi chart = 50 ms
+    private static final int PADDING = 8;
+    private static final int ROW_HEIGHT = 13;
+    private static final long REFRESH_NANOS = 500_000_000L;
+
+    // Warna per kolom (urutan FrameProfiler.Section, terakhir = other)
+    private static final Color[] COLORS = {
+            new Color(0xE6194B), new Color(0x3CB44B), new Color(0x4363D8), new Color(0xF58231),
+            new Color(0x911EB4), new Color(0x46F0F0), new Color(0xF032E6), new Color(0xBCF60C),
+            new Color(0xFABEBE), new Color(0xFFE119), new Color(0x008080), new Color(80, 80, 80)
+    };
+
+    private final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    private final Font legendFont = new Font(Font.MONOSPACED, Font.PLAIN, 8);
+    private FrameProfiler.Summary summary;
+    private long lastRefresh = 0;
+
+    public void paint(Graphics2D g2d, int panelWidth) {
+        long now = System.nanoTime();
+        if (summary == null || now - lastRefresh >= REFRESH_NANOS) {
+            summary = FrameProfiler.snapshot();
+            lastRefresh = now;
+        }
+
+        int columns = FrameProfiler.OTHER + 1;
+        int width = BARS * 2 + PADDING * 2 + 140;
+        int height = PADDING * 3 + CHART_HEIGHT + ROW_HEIGHT * (columns + 3);
+        int x = panelWidth - width - 10;
+        int y = 10;
+
+        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.fillRect(x, y, width, height);
+        drawChart(g2d, x + PADDING, y + PADDING);
+        drawTable(g2d, x + PADDING, y + PADDING * 2 + CHART_HEIGHT);
+    }
+
+    // Histogram batang bertumpuk, frame terbaru di kanan
+    private void drawChart(Graphics2D g2d, int x, int y) {
+        long[][] frames = FrameProfiler.recentFrames(BARS);
+        int baseline = y + CHART_HEIGHT;
+        int offset = (BARS - frames.length) * 2;
+        for (int i = 0; i < frames.length; i++) {
+            int barX = x + offset + i * 2;
+            int top = baseline;
+            for (int c = 0; c < frames[i].length && top > y; c++) {
+                int h = (int) Math.round(frames[i][c] / 1e6 * CHART_HEIGHT / MS_PER_CHART);
+                h = Math.min(h, top - y);
+                if (h > 0) {
+                    g2d.setColor(COLORS[c % COLORS.length]);
+                    g2d.fillRect(barX, top - h, 2, h);
+                    top -= h;
+                }
+            }
+        }
+
+        g2d.setColor(Color.WHITE);
+        for (double ms : new double[] { 16.7, 33.3 }) {
+            int lineY = baseline - (int) Math.round(ms * CHART_HEIGHT / MS_PER_CHART);
+            g2d.drawLine(x, lineY, x + BARS * 2, lineY);
+        }
+
+        // Legend warna di sebelah kanan chart
+        g2d.setFont(legendFont);
+        for (int c = 0; c <= FrameProfiler.OTHER; c++) {
+            int legendY = y + c * 8;
+            g2d.setColor(COLORS[c % COLORS.length]);
+            g2d.fillRect(x + BARS * 2 + 6, legendY, 7, 7);
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(FrameProfiler.label(c), x + BARS * 2 + 16, legendY + 7);
+        }
+    }
+
+    // Tabel persentil per kolom dalam ms
+    private void drawTable(Graphics2D g2d, int x, int y) {
+        g2d.setFont(font);
+        g2d.setColor(Color.WHITE);
+        int row = y + ROW_HEIGHT;
+        g2d.drawString(String.format(Locale.ROOT, "%d frames / %.0fs   [F3] tutup  [F4] dump",
+                summary.frames, summary.windowSeconds), x, row);
+        row += ROW_HEIGHT;
+        g2d.drawString(String.format(Locale.ROOT, "%-18s %6s %6s %6s %6s", "ms", "p50", "p95", "p99", "worst"), x, row);
+        row += ROW_HEIGHT;
+        drawRow(g2d, x, row, "frame", summary.frame);
+        for (int c = 0; c < summary.sections.length; c++) {
+            row += ROW_HEIGHT;
+            g2d.setColor(COLORS[c % COLORS.length]);
+            drawRow(g2d, x, row, FrameProfiler.label(c), summary.sections[c]);
+        }
+    }
+
+    private void drawRow(Graphics2D g2d, int x, int y, String label, FrameProfiler.Stats stats) {
+        g2d.drawString(String.format(Locale.ROOT, "%-18s %6.2f %6.2f %6.2f %6.2f",
+                label, stats.p50, stats.p95, stats.p99, stats.max), x, y);
+    }
+}
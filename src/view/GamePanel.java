@@ -1,24 +1,37 @@
 package view;
 
+import util.AssetManager;
+import util.Disposable;
+import util.FrameProfiler;
+import util.JfrEvents;
+import util.Lifecycle;
+import util.Log;
+import util.Metrics;
+import util.StartupTrace;
 import viewmodel.GameViewModel;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.io.IOException;
 
 public class GamePanel extends JPanel
-        implements PropertyChangeListener, KeyListener, MouseListener, MouseMotionListener {
+        implements PropertyChangeListener, KeyListener, MouseListener, MouseMotionListener, Disposable {
     private GameViewModel gameViewModel;
     private KucingPanel kucingPanel;
     private IkanPanel ikanPanel;
     private TempatMakanPanel tempatMakanPanel;
     private Timer uiUpdateTimer;
-    private Image backgroundImage; // Background image // UI Components
-    private JLabel scoreLabel;
-    private JLabel fishCountLabel;
-    private JLabel timerLabel;
-    private JLabel highScoreLabel;
+    private final Lifecycle lifecycle = new Lifecycle(); // Pemilik timer dan listener panel ini
+    private Image backgroundImage; // Background image
+    private BackgroundLayer backgroundLayer; // Background yang sudah di-scale ke ukuran panel // UI Components
+    private HudRenderer hudRenderer; // HUD skor/ikan/waktu digambar langsung di game area
+    private FrameProfilerOverlay profilerOverlay; // Overlay F3, null jika tidak ditampilkan
+    // Repaint yang diminta vs frame game area yang benar-benar digambar (Swing menggabungkan repaint)
+    private static final Metrics.Counter REPAINTS_REQUESTED = Metrics.counter("render.repaints_requested");
+    private static final Metrics.Counter FRAMES_PAINTED = Metrics.counter("render.frames_painted");
+    private static final Log LOG = Log.get(GamePanel.class);
     private JButton backToMenuButton;
     private SoundPlayer backgroundMusicPlayer;
 
@@ -38,8 +51,9 @@ public class GamePanel extends JPanel
         addMouseListener(this);
         addMouseMotionListener(this);
 
-        // Add property change listener
+        // Add property change listener (dilepas otomatis saat dispose)
         gameViewModel.addPropertyChangeListener(this);
+        lifecycle.register(() -> gameViewModel.removePropertyChangeListener(this));
     }
 
     private void initializeComponents() {
@@ -50,11 +64,10 @@ public class GamePanel extends JPanel
         ikanPanel = new IkanPanel(gameViewModel.getIkanViewModel());
 
         // Create tempat makan panel
-        tempatMakanPanel = new TempatMakanPanel(gameViewModel); // Create UI labels
-        scoreLabel = new JLabel("Score: 0");
-        fishCountLabel = new JLabel("Fish: 0");
-        timerLabel = new JLabel("Time: 01:00");
-        highScoreLabel = new JLabel("High Score: 0");// Create buttons
+        tempatMakanPanel = new TempatMakanPanel(gameViewModel);
+
+        // Create HUD renderer (menggantikan JLabel overlay)
+        hudRenderer = new HudRenderer(); // Create buttons
         backToMenuButton = new JButton("Menu");
 
         // Style UI components
@@ -62,19 +75,6 @@ public class GamePanel extends JPanel
     }
 
     private void setupUIStyles() {
-        Font gameFont = new Font("Arial", Font.BOLD, 16);
-        Color textColor = Color.WHITE;
-        scoreLabel.setFont(gameFont);
-        scoreLabel.setForeground(textColor);
-
-        fishCountLabel.setFont(gameFont);
-        fishCountLabel.setForeground(textColor);
-
-        timerLabel.setFont(gameFont);
-        timerLabel.setForeground(textColor);
-        highScoreLabel.setFont(gameFont);
-        highScoreLabel.setForeground(textColor);
-
         backToMenuButton.setFont(new Font("Arial", Font.BOLD, 14));
     }
 
@@ -82,28 +82,66 @@ public class GamePanel extends JPanel
         JPanel gameArea = new JPanel() {
             @Override
             protected void paintComponent(Graphics g) {
+                JfrEvents.Paint paintEvent = JfrEvents.beginPaint();
                 super.paintComponent(g);
 
-                // Draw background
-                if (backgroundImage != null) {
-                    g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+                // Draw background (pre-rendered, blit 1:1)
+                FrameProfiler.begin(FrameProfiler.Section.PAINT_BACKGROUND);
+                if (backgroundLayer != null) {
+                    backgroundLayer.paint(this, g);
                 }
+                FrameProfiler.end(FrameProfiler.Section.PAINT_BACKGROUND);
 
                 // Draw additional game elements
                 Graphics2D g2d = (Graphics2D) g.create();
                 g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
                 // Draw fish using IkanPanel
+                FrameProfiler.begin(FrameProfiler.Section.PAINT_IKAN);
                 if (ikanPanel != null) {
                     ikanPanel.drawAllIkan(g2d);
                 }
+                FrameProfiler.end(FrameProfiler.Section.PAINT_IKAN);
 
                 // Draw tempat makan
                 if (tempatMakanPanel != null) {
+                    REPAINTS_REQUESTED.inc();
                     tempatMakanPanel.repaint(); // Make sure it's painted
                 }
 
                 g2d.dispose();
+                JfrEvents.commitPaint(paintEvent, "GameArea", g);
+            }
+
+            @Override
+            protected void paintChildren(Graphics g) {
+                JfrEvents.Paint paintEvent = JfrEvents.beginPaint();
+                super.paintChildren(g);
+
+                // Draw HUD di atas semua layer game
+                FrameProfiler.begin(FrameProfiler.Section.PAINT_HUD);
+                if (hudRenderer != null && gameViewModel != null) {
+                    Graphics2D g2d = (Graphics2D) g.create();
+                    hudRenderer.paint(g2d, gameViewModel.getScore(), gameViewModel.getFishCount(),
+                            gameViewModel.getRemainingTime(), gameViewModel.getHighScore());
+                    g2d.dispose();
+                }
+                FrameProfiler.end(FrameProfiler.Section.PAINT_HUD);
+                FrameProfiler.endFrame();
+                FRAMES_PAINTED.inc();
+                JfrEvents.commitPaint(paintEvent, "GameArea.children", g);
+
+                // Overlay profiler digambar setelah frame ditutup (tidak ikut terukur)
+                if (profilerOverlay != null) {
+                    Graphics2D g2d = (Graphics2D) g.create();
+                    profilerOverlay.paint(g2d, getWidth());
+                    g2d.dispose();
+                }
+
+                // Frame game pertama selesai digambar (semua layer + HUD)
+                if (StartupTrace.markOnce("first_game_frame") && StartupTrace.isAutoplay()) {
+                    SwingUtilities.invokeLater(() -> System.exit(0));
+                }
             }
         };
         gameArea.setLayout(new OverlayLayout(gameArea));
@@ -128,17 +166,9 @@ public class GamePanel extends JPanel
 
     private JPanel createUIOverlay() {
         JPanel overlay = new JPanel(null); // Absolute positioning
-        overlay.setOpaque(false); // Position UI elements
-        scoreLabel.setBounds(10, 10, 150, 30);
-        fishCountLabel.setBounds(10, 50, 150, 30);
-        timerLabel.setBounds(10, 90, 150, 30);
-        highScoreLabel.setBounds(10, 130, 150, 30);
+        overlay.setOpaque(false); // Position UI elements (skor dll digambar oleh HudRenderer)
         backToMenuButton.setBounds(10, 170, 80, 30);
 
-        overlay.add(scoreLabel);
-        overlay.add(fishCountLabel);
-        overlay.add(timerLabel);
-        overlay.add(highScoreLabel);
         overlay.add(backToMenuButton);
 
         return overlay;
@@ -159,70 +189,35 @@ public class GamePanel extends JPanel
                 App.showMainMenu();
             }
         });
-
-        // Key listeners for game controls // Mouse listeners for game interaction
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mousePressed(MouseEvent e) {
-                requestFocusInWindow();
-                gameViewModel.handleMousePressed(e.getX(), e.getY());
-            }
-
-            @Override
-            public void mouseReleased(MouseEvent e) {
-                gameViewModel.handleMouseReleased();
-            }
-        });
-
-        addMouseMotionListener(new MouseMotionAdapter() {
-            @Override
-            public void mouseMoved(MouseEvent e) {
-                gameViewModel.handleMouseMoved(e.getX(), e.getY());
-            }
-
-            @Override
-            public void mouseDragged(MouseEvent e) {
-                gameViewModel.handleMouseMoved(e.getX(), e.getY());
-            }
-        });
     }
 
     private void setupTimers() {
         // UI update timer (30 FPS) - BUAT tapi jangan start dulu
-        uiUpdateTimer = new Timer(1000 / 30, e -> updateGameUI());
+        uiUpdateTimer = lifecycle.createTimer(1000 / 30, e -> updateGameUI());
         // Timer akan di-start saat startGame() dipanggil
     }
 
     private void updateGameUI() {
-        if (gameViewModel != null) {
-            GameViewModel.GameStats stats = gameViewModel.getGameStats(); // Update labels
-            scoreLabel.setText("Score: " + gameViewModel.getScore());
-            fishCountLabel.setText("Fish: " + gameViewModel.getFishCount());
-            timerLabel.setText("Time: " + stats.formattedTime);
-            highScoreLabel.setText("High Score: " + stats.highScore);
-
-            // Update timer color based on remaining time
-            if (stats.remainingTime <= 10) {
-                timerLabel.setForeground(Color.RED);
-            } else if (stats.remainingTime <= 30) {
-                timerLabel.setForeground(Color.ORANGE);
-            } else {
-                timerLabel.setForeground(Color.WHITE);
-            }
-        }
-
+        // HUD membaca nilai int langsung saat paint, tidak perlu setText di sini
         // Repaint panels
         if (kucingPanel != null) {
+            REPAINTS_REQUESTED.inc();
             kucingPanel.repaint();
         }
         if (ikanPanel != null) {
+            REPAINTS_REQUESTED.inc();
             ikanPanel.repaint();
         }
     }
 
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
-        String propertyName = evt.getPropertyName();
+        FrameProfiler.begin(FrameProfiler.Section.EVENTS);
+        handlePropertyChange(evt.getPropertyName());
+        FrameProfiler.end(FrameProfiler.Section.EVENTS);
+    }
+
+    private void handlePropertyChange(String propertyName) {
         switch (propertyName) {
             case "gameOver":
                 SwingUtilities.invokeLater(this::showGameOverDialog);
@@ -306,7 +301,7 @@ public class GamePanel extends JPanel
                     java.lang.reflect.Method showMainMenuMethod = appClass.getMethod("showMainMenu");
                     showMainMenuMethod.invoke(null);
                 } catch (Exception e) {
-                    System.err.println("Could not return to main menu: " + e.getMessage());
+                    LOG.error("Could not return to main menu: {}", e.getMessage());
                     System.exit(0);
                 }
                 break;
@@ -328,26 +323,34 @@ public class GamePanel extends JPanel
                 JOptionPane.INFORMATION_MESSAGE);
     }
 
-    // Cleanup method
-    public void cleanup() {
-        if (uiUpdateTimer != null && uiUpdateTimer.isRunning()) {
-            uiUpdateTimer.stop();
-        }
-
-        if (gameViewModel != null) {
-            gameViewModel.removePropertyChangeListener(this);
-        }
+    // Melepas timer, listener, dan resource panel ini beserta panel anaknya
+    // GameViewModel tidak di-dispose di sini, pemiliknya (App) yang melakukannya
+    @Override
+    public void dispose() {
+        lifecycle.dispose(); // Stop UI timer dan lepas listener dari GameViewModel
 
         if (kucingPanel != null) {
-            kucingPanel.cleanup();
+            kucingPanel.dispose();
         }
 
         if (ikanPanel != null) {
-            ikanPanel.cleanup();
+            ikanPanel.dispose();
+        }
+
+        if (tempatMakanPanel != null) {
+            tempatMakanPanel.dispose();
         }
 
         if (backgroundMusicPlayer != null) {
-            backgroundMusicPlayer.close(); // Close the sound clip
+            backgroundMusicPlayer.stop(); // Player milik AudioEngine, dipakai ulang oleh panel berikutnya
+        }
+
+        if (backgroundLayer != null) {
+            backgroundLayer.flush(); // Lepaskan surface background
+        }
+
+        if (hudRenderer != null) {
+            hudRenderer.flush(); // Lepaskan cache teks HUD
         }
     }
 
@@ -382,15 +385,18 @@ public class GamePanel extends JPanel
     }
 
     private void loadBackgroundImage() {
+        long traceStart = StartupTrace.start();
         try {
-            backgroundImage = new ImageIcon(getClass().getResource("/assets/backgroundd.png")).getImage();
+            backgroundImage = AssetManager.getInstance().getImage("/assets/backgroundd.png");
+            backgroundLayer = new BackgroundLayer(backgroundImage);
         } catch (Exception e) {
-            System.err.println("Failed to load background image: " + e.getMessage());
+            LOG.error("Failed to load background image: {}", e.getMessage());
         }
+        StartupTrace.span("asset_decode:game_background", traceStart);
     } // New method to load background music
 
     private void loadBackgroundMusic() {
-        backgroundMusicPlayer = new SoundPlayer("/assets/backgroundmusic.wav");
+        backgroundMusicPlayer = AudioEngine.getInstance().getMusic(AudioEngine.BACKGROUND_MUSIC);
         if (backgroundMusicPlayer != null) {
         } else {
         }
@@ -427,20 +433,58 @@ public class GamePanel extends JPanel
             java.lang.reflect.Method restartGameMethod = appClass.getMethod("restartGame");
             restartGameMethod.invoke(null);
         } catch (Exception e) {
-            System.err.println("FAILED to force restart: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Failed to force restart: {}", e.getMessage(), e);
         }
     }
 
     // Event handling methods
     @Override
     public void keyPressed(KeyEvent e) {
+        // F3/F4 untuk profiler frame, tidak diteruskan ke game
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            toggleProfilerOverlay();
+            return;
+        }
+        if (e.getKeyCode() == KeyEvent.VK_F4) {
+            dumpFrameProfile();
+            return;
+        }
+        FrameProfiler.begin(FrameProfiler.Section.INPUT);
         gameViewModel.handleKeyPressed(e.getKeyCode());
+        FrameProfiler.end(FrameProfiler.Section.INPUT);
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
+        FrameProfiler.begin(FrameProfiler.Section.INPUT);
         gameViewModel.handleKeyReleased(e.getKeyCode());
+        FrameProfiler.end(FrameProfiler.Section.INPUT);
+    }
+
+    // Tampilkan/sembunyikan overlay profiler, profiler ikut aktif saat overlay tampil
+    // (jika diaktifkan lewat -Dtmd.profiler=true, profiler tetap berjalan setelah overlay ditutup)
+    private void toggleProfilerOverlay() {
+        if (profilerOverlay == null) {
+            profilerOverlay = new FrameProfilerOverlay();
+            FrameProfiler.setEnabled(true);
+        } else {
+            profilerOverlay = null;
+            FrameProfiler.setEnabled(Boolean.getBoolean(FrameProfiler.ENABLED_PROPERTY));
+        }
+        repaint();
+    }
+
+    // Tulis statistik profiler ke file JSON
+    private void dumpFrameProfile() {
+        if (!FrameProfiler.isEnabled()) {
+            LOG.info("Frame profiler belum aktif (tekan F3 atau -Dtmd.profiler=true)");
+            return;
+        }
+        try {
+            LOG.info("Frame profile ditulis ke {}", FrameProfiler.dump().toAbsolutePath());
+        } catch (IOException e) {
+            LOG.error("Error writing frame profile: {}", e.getMessage());
+        }
     }
 
     @Override
@@ -472,17 +516,23 @@ public class GamePanel extends JPanel
         }
 
         // Handle normal game mouse press
+        FrameProfiler.begin(FrameProfiler.Section.INPUT);
         gameViewModel.handleMousePressed(e.getX(), e.getY());
+        FrameProfiler.end(FrameProfiler.Section.INPUT);
     }
 
     @Override
     public void mouseReleased(MouseEvent e) {
+        FrameProfiler.begin(FrameProfiler.Section.INPUT);
         gameViewModel.handleMouseReleased();
+        FrameProfiler.end(FrameProfiler.Section.INPUT);
     }
 
     @Override
     public void mouseMoved(MouseEvent e) {
+        FrameProfiler.begin(FrameProfiler.Section.INPUT);
         gameViewModel.handleMouseMoved(e.getX(), e.getY());
+        FrameProfiler.end(FrameProfiler.Section.INPUT);
     }
 
     @Override
@@ -502,6 +552,8 @@ public class GamePanel extends JPanel
 
     @Override
     public void mouseDragged(MouseEvent e) {
+        FrameProfiler.begin(FrameProfiler.Section.INPUT);
         gameViewModel.handleMouseMoved(e.getX(), e.getY());
+        FrameProfiler.end(FrameProfiler.Section.INPUT);
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package view;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.image.BufferedImage;
+import java.util.function.IntFunction;
+
+/**
+ * HudRenderer - Menggambar HUD (skor, ikan, waktu, high score) langsung di game area
+ *
+ * Menggantikan overlay JLabel yang di-setText 30 kali per detik. Setiap baris
+ * HUD menyimpan nilai int terakhir beserta hasil render teksnya (glyph run yang
+ * sudah di-rasterize ke compatible image). Teks hanya di-render ulang ketika
+ * nilai int-nya benar-benar berubah, selebihnya cukup blit gambar yang sama.
+ */
+public class HudRenderer {
+    // Posisi dan ukuran baris HUD (sama dengan layout JLabel sebelumnya)
+    private static final int HUD_X = 10;
+    private static final int ROW_HEIGHT = 30;
+
+    private final Font font = new Font("Arial", Font.BOLD, 16);
+    private final HudText scoreText = new HudText(10, value -> "Score: " + value);
+    private final HudText fishText = new HudText(50, value -> "Fish: " + value);
+    private final HudText timerText = new HudText(90,
+            value -> String.format("Time: %02d:%02d", value / 60, value % 60));
+    private final HudText highScoreText = new HudText(130, value -> "High Score: " + value);
+
+    // Gambar semua baris HUD dengan nilai terkini
+    public void paint(Graphics2D g2d, int score, int fishCount, int remainingTime, int highScore) {
+        scoreText.paint(g2d, score, Color.WHITE);
+        fishText.paint(g2d, fishCount, Color.WHITE);
+        timerText.paint(g2d, remainingTime, getTimerColor(remainingTime));
+        highScoreText.paint(g2d, highScore, Color.WHITE);
+    }
+
+    // Warna timer berdasarkan sisa waktu
+    private Color getTimerColor(int remainingTime) {
+        if (remainingTime <= 10) {
+            return Color.RED;
+        } else if (remainingTime <= 30) {
+            return Color.ORANGE;
+        }
+        return Color.WHITE;
+    }
+
+    // Lepaskan semua cache teks
+    public void flush() {
+        scoreText.flush();
+        fishText.flush();
+        timerText.flush();
+        highScoreText.flush();
+    }
+
+    // Satu baris HUD dengan cache render berdasarkan nilai int terakhir
+    private class HudText {
+        private final int rowY;
+        // Membuat teks dari nilai, hanya dipanggil saat cache perlu di-render ulang
+        private final IntFunction<String> formatter;
+        private boolean valid = false;
+        private int lastValue;
+        private Color lastColor;
+        private BufferedImage image;
+        private int imageY;
+
+        HudText(int rowY, IntFunction<String> formatter) {
+            this.rowY = rowY;
+            this.formatter = formatter;
+        }
+
+        void paint(Graphics2D g2d, int value, Color color) {
+            if (!valid || value != lastValue || !color.equals(lastColor)) {
+                render(value, color);
+            }
+            g2d.drawImage(image, HUD_X, imageY, null);
+        }
+
+        private void render(int value, Color color) {
+            String text = formatter.apply(value);
+            FontRenderContext frc = new FontRenderContext(null, true, true);
+            GlyphVector glyphs = font.createGlyphVector(frc, text);
+            LineMetrics metrics = font.getLineMetrics(text, frc);
+            Rectangle bounds = glyphs.getPixelBounds(frc, 0, 0);
+
+            int width = Math.max(1, bounds.x + bounds.width + 2);
+            int height = Math.max(1, (int) Math.ceil(metrics.getHeight()));
+
+            flush();
+            image = SpriteCache.createCompatibleImage(width, height);
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(color);
+            g.drawGlyphVector(glyphs, 0, metrics.getAscent());
+            g.dispose();
+
+            // Teks di tengah vertikal baris, sama seperti JLabel
+            imageY = rowY + (ROW_HEIGHT - height) / 2;
+            lastValue = value;
+            lastColor = color;
+            valid = true;
+        }
+
+        void flush() {
+            if (image != null) {
+                image.flush();
+                image = null;
+            }
+            valid = false;
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package view;
 
+import util.AssetManager;
+import util.Disposable;
+import util.JfrEvents;
+import util.Log;
+import util.Metrics;
+import util.StartupTrace;
 import viewmodel.IkanViewModel;
 import javax.swing.*;
 import java.awt.*;
@@ -7,9 +13,12 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
 
-public class IkanPanel extends JPanel implements PropertyChangeListener {
+public class IkanPanel extends JPanel implements PropertyChangeListener, Disposable {
+    private static final Metrics.Counter REPAINTS_REQUESTED = Metrics.counter("render.repaints_requested");
+    private static final Log LOG = Log.get(IkanPanel.class);
     private IkanViewModel ikanViewModel;
     private Image[] fishImages; // Fish images for rendering
+    private final SpriteCache spriteCache = SpriteCache.getInstance(); // Scaled/mirrored fish sprites
 
     public IkanPanel(IkanViewModel ikanViewModel) {
         this.ikanViewModel = ikanViewModel;
@@ -23,14 +32,16 @@ public class IkanPanel extends JPanel implements PropertyChangeListener {
     }
 
     private void loadFishImages() {
+        long traceStart = StartupTrace.start();
         try {
             fishImages = new Image[3];
-            fishImages[0] = new ImageIcon(getClass().getResource("/assets/ikan1.png")).getImage();
-            fishImages[1] = new ImageIcon(getClass().getResource("/assets/ikan2.png")).getImage();
-            fishImages[2] = new ImageIcon(getClass().getResource("/assets/ikan3.png")).getImage();
+            fishImages[0] = AssetManager.getInstance().getImage("/assets/ikan1.png");
+            fishImages[1] = AssetManager.getInstance().getImage("/assets/ikan2.png");
+            fishImages[2] = AssetManager.getInstance().getImage("/assets/ikan3.png");
         } catch (Exception e) {
-            System.err.println("Error loading fish images: " + e.getMessage());
+            LOG.error("Error loading fish images: {}", e.getMessage());
         }
+        StartupTrace.span("asset_decode:fish", traceStart);
     }
 
     public void drawAllIkan(Graphics2D g2d) {
@@ -49,18 +60,10 @@ public class IkanPanel extends JPanel implements PropertyChangeListener {
                         }
 
                         // Draw fish with proper orientation
-                        if (ikan.velocityX < 0) {
-                            // Moving left - normal orientation
-                            g2d.drawImage(fishImage,
-                                    ikan.posX, ikan.posY,
-                                    ikan.width, ikan.height,
-                                    this);
-                        } else {
-                            // Moving right - flip horizontally
-                            g2d.drawImage(fishImage,
-                                    ikan.posX + ikan.width, ikan.posY,
-                                    -ikan.width, ikan.height, this);
-                        }
+                        // Moving left - normal orientation, moving right - pre-mirrored sprite
+                        Image sprite = spriteCache.getFish(fishImage, ikan.fishType,
+                                ikan.width, ikan.height, ikan.velocityX >= 0);
+                        g2d.drawImage(sprite, ikan.posX, ikan.posY, this);
                     }
                 }
             }
@@ -74,12 +77,14 @@ public class IkanPanel extends JPanel implements PropertyChangeListener {
                 "fishUpdated".equals(evt.getPropertyName()) ||
                 "fishRemoved".equals(evt.getPropertyName()) ||
                 "fishMovement".equals(evt.getPropertyName())) {
+            REPAINTS_REQUESTED.inc();
             repaint();
         }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        JfrEvents.Paint paintEvent = JfrEvents.beginPaint();
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g.create();
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -87,10 +92,12 @@ public class IkanPanel extends JPanel implements PropertyChangeListener {
         drawAllIkan(g2d);
 
         g2d.dispose();
+        JfrEvents.commitPaint(paintEvent, "IkanPanel", g);
     }
 
     // Method to cleanup listeners when panel is disposed
-    public void cleanup() {
+    @Override
+    public void dispose() {
         if (ikanViewModel != null) {
             ikanViewModel.removePropertyChangeListener(this);
         }
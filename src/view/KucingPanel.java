@@ -1,29 +1,33 @@
 package view;
 
+import util.Disposable;
+import util.FrameProfiler;
+import util.JfrEvents;
+import util.Metrics;
 import viewmodel.GameViewModel;
 import viewmodel.KucingViewModelNew;
 import javax.swing.*;
 import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.awt.geom.AffineTransform;
 
-public class KucingPanel extends JPanel implements PropertyChangeListener 
+public class KucingPanel extends JPanel implements PropertyChangeListener, Disposable
 {
+    private static final Metrics.Counter REPAINTS_REQUESTED = Metrics.counter("render.repaints_requested");
     private GameViewModel gameViewModel; 
-    private IkanPanel ikanPanel;
+    private final SpriteCache spriteCache = SpriteCache.getInstance(); // Sprite tangan yang sudah di-rotate
 
     public KucingPanel(GameViewModel gameViewModel) {
         this.gameViewModel = gameViewModel;
         setFocusable(false); // GamePanel sekarang yang handle focus
         setOpaque(false); // Transparent background
 
-        // Create fish panel untuk compatibility
-        ikanPanel = new IkanPanel(gameViewModel.getIkanViewModel()); // Add property change listener
+        // Ikan digambar oleh IkanPanel milik GamePanel // Add property change listener
         gameViewModel.addPropertyChangeListener(this);
     }
 
-    private void drawKucing(Graphics2D g2d) {
+    // Package-private agar bisa diukur per layer oleh render harness
+    void drawKucing(Graphics2D g2d) {
         KucingViewModelNew kucingViewModelNew = gameViewModel.getKucingViewModelNew();
         if (kucingViewModelNew != null) {
             KucingViewModelNew.KucingViewData kucingData = kucingViewModelNew.getKucingViewData();
@@ -36,7 +40,7 @@ public class KucingPanel extends JPanel implements PropertyChangeListener
         }
     }
 
-    private void drawHand(Graphics2D g) {
+    void drawHand(Graphics2D g) {
         KucingViewModelNew kucingViewModelNew = gameViewModel.getKucingViewModelNew();
         if (kucingViewModelNew != null) {
             KucingViewModelNew.KucingViewData kucingData = kucingViewModelNew.getKucingViewData();
@@ -57,23 +61,14 @@ public class KucingPanel extends JPanel implements PropertyChangeListener
 
                 // UKURAN TANGAN
                 int handW = 30; // Lebar tangan
-                int handH = (int) length; // TINGGI = JARAK KE TARGET (STRETCH!)
-
-                // GAMBAR TANGAN YANG DI-STRETCH
-                Graphics2D g2d = (Graphics2D) g.create();
-                AffineTransform old = g2d.getTransform();
-
-                // PINDAH KE POSISI KUCING CENTER
-                g2d.translate(x1, y1);
-
-                // ROTATE SESUAI ARAH TARGET
-                g2d.rotate(angle - Math.PI / 2); // -PI/2 karena PNG vertikal // GAMBAR TANGAN DARI (0,0) SAMPAI
-                                                 // (0,handH) - STRETCHED!
-                g2d.drawImage(kucingData.handImage, -handW / 2, 0, handW, handH, null);
-
-                // RESTORE TRANSFORM
-                g2d.setTransform(old);
-                g2d.dispose();
+                // TINGGI = JARAK KE TARGET (STRETCH!), sprite sudah di-rotate di SpriteCache
+
+                // GAMBAR TANGAN YANG DI-STRETCH DARI POSISI KUCING CENTER
+                // -PI/2 karena PNG vertikal, sudah dihitung di dalam cache
+                SpriteCache.HandSprite hand = spriteCache.getHand(kucingData.handImage, handW, length, angle);
+                if (hand != null) {
+                    g.drawImage(hand.image, x1 + hand.offsetX, y1 + hand.offsetY, null);
+                }
             }
         }
     } // === PROPERTY CHANGE HANDLING ===
@@ -81,11 +76,13 @@ public class KucingPanel extends JPanel implements PropertyChangeListener
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         // KucingPanel sekarang hanya repaint untuk kucing-related changes
+        REPAINTS_REQUESTED.inc();
         repaint();
     }
 
     @Override
     public void paintComponent(Graphics g) {
+        JfrEvents.Paint paintEvent = JfrEvents.beginPaint();
         super.paintComponent(g);
 
         // KucingPanel sekarang hanya menggambar kucing dan tangan
@@ -93,18 +90,21 @@ public class KucingPanel extends JPanel implements PropertyChangeListener
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
         // Draw tangan (hand)
+        FrameProfiler.begin(FrameProfiler.Section.PAINT_HAND);
         drawHand(g2d);
+        FrameProfiler.end(FrameProfiler.Section.PAINT_HAND);
         // Draw kucing (cat body)
+        FrameProfiler.begin(FrameProfiler.Section.PAINT_KUCING);
         drawKucing(g2d);
+        FrameProfiler.end(FrameProfiler.Section.PAINT_KUCING);
 
         g2d.dispose();
+        JfrEvents.commitPaint(paintEvent, "KucingPanel", g);
     }
 
     // Method to cleanup resources when panel is disposed
-    public void cleanup() {
-        if (ikanPanel != null) {
-            ikanPanel.cleanup();
-        }
+    @Override
+    public void dispose() {
         gameViewModel.removePropertyChangeListener(this);
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+package view;
+
+import model.DatabaseManager;
+import util.JfrEvents;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * LeaderboardList - Daftar leaderboard yang tervirtualisasi
+ *
+ * Sebelumnya setiap pemain dibuat sebagai JPanel sendiri lengkap dengan
+ * label, font, dan mouse listener, lalu dibangun ulang setiap refresh.
+ * Sekarang JList hanya melukis baris yang terlihat di viewport dengan satu
+ * renderer yang dipakai ulang, tinggi baris tetap (tanpa layout per baris),
+ * dan font/warna di-cache sekali. Hover dan klik ditangani oleh satu listener
+ * di level list.
+ */
+public class LeaderboardList extends JList<DatabaseManager.Player> {
+    // Tinggi satu baris (32px panel + 2px jarak antar baris seperti sebelumnya)
+    private static final int ROW_HEIGHT = 34;
+
+    private static final Font NAME_FONT = new Font("Arial", Font.BOLD, 13);
+    private static final Font SCORE_FONT = new Font("Arial", Font.PLAIN, 11);
+    private static final Font EMPTY_FONT = new Font("Arial", Font.ITALIC, 14);
+    private static final Color BACKGROUND = new Color(0, 0, 0, 80);
+    private static final Color HOVER_BACKGROUND = new Color(255, 215, 0); // Solid gold, no transparency
+    private static final Color SCORE_COLOR = new Color(200, 200, 200);
+    private static final Color SCORE_HOVER_COLOR = new Color(60, 60, 60);
+    private static final String EMPTY_TEXT = "No scores yet";
+
+    private final LeaderboardModel leaderboardModel;
+    private int hoveredIndex = -1;
+    private Consumer<DatabaseManager.Player> playerClickListener;
+
+    public LeaderboardList() {
+        leaderboardModel = new LeaderboardModel();
+        setModel(leaderboardModel);
+        setCellRenderer(new PlayerCellRenderer());
+        setFixedCellHeight(ROW_HEIGHT);
+        setOpaque(false);
+        setBackground(new Color(0, 0, 0, 0));
+        setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        setFocusable(false);
+        setupMouseListener();
+    }
+
+    // Ganti isi leaderboard tanpa membuat komponen baru
+    public void setPlayers(List<DatabaseManager.Player> players) {
+        leaderboardModel.setPlayers(players);
+        if (hoveredIndex >= leaderboardModel.getSize()) {
+            hoveredIndex = -1;
+        }
+    }
+
+    public void setPlayerClickListener(Consumer<DatabaseManager.Player> listener) {
+        this.playerClickListener = listener;
+    }
+
+    private void setupMouseListener() {
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoveredIndex(rowAt(e.getPoint()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                // KEMBALI KE TRANSPARENT
+                setHoveredIndex(-1);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = rowAt(e.getPoint());
+                if (index >= 0 && playerClickListener != null) {
+                    playerClickListener.accept(leaderboardModel.getElementAt(index));
+                }
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+    }
+
+    // Index baris di bawah titik, -1 jika di luar baris
+    private int rowAt(Point point) {
+        int index = locationToIndex(point);
+        if (index < 0) {
+            return -1;
+        }
+        Rectangle bounds = getCellBounds(index, index);
+        return bounds != null && bounds.contains(point) ? index : -1;
+    }
+
+    // Update hover dan repaint hanya baris yang berubah
+    private void setHoveredIndex(int index) {
+        if (index == hoveredIndex) {
+            return;
+        }
+        repaintRow(hoveredIndex);
+        hoveredIndex = index;
+        repaintRow(hoveredIndex);
+        setCursor(Cursor.getPredefinedCursor(index >= 0 ? Cursor.HAND_CURSOR : Cursor.DEFAULT_CURSOR));
+    }
+
+    private void repaintRow(int index) {
+        if (index >= 0 && index < leaderboardModel.getSize()) {
+            Rectangle bounds = getCellBounds(index, index);
+            if (bounds != null) {
+                repaint(bounds);
+            }
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        JfrEvents.Paint paintEvent = JfrEvents.beginPaint();
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Background transparan dengan rounded corners
+        g2d.setColor(BACKGROUND);
+        g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
+
+        if (leaderboardModel.getSize() == 0) {
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(EMPTY_FONT);
+            g2d.setColor(SCORE_COLOR);
+            FontMetrics fm = g2d.getFontMetrics();
+            g2d.drawString(EMPTY_TEXT, (getWidth() - fm.stringWidth(EMPTY_TEXT)) / 2, fm.getAscent());
+        }
+        g2d.dispose();
+
+        super.paintComponent(g);
+        JfrEvents.commitPaint(paintEvent, "LeaderboardList", g);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true; // Tidak ada scroll horizontal, lebar mengikuti viewport
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        // Isi tinggi viewport saat kosong agar background rounded tetap terlihat
+        Container parent = getParent();
+        return parent instanceof JViewport && getPreferredSize().height < parent.getHeight();
+    }
+
+    // Model ringan di atas list pemain dari database
+    private static class LeaderboardModel extends AbstractListModel<DatabaseManager.Player> {
+        private List<DatabaseManager.Player> players = new ArrayList<>();
+
+        void setPlayers(List<DatabaseManager.Player> newPlayers) {
+            int oldSize = players.size();
+            players = newPlayers != null ? newPlayers : new ArrayList<>();
+            int newSize = players.size();
+
+            if (newSize < oldSize) {
+                fireIntervalRemoved(this, newSize, oldSize - 1);
+            } else if (newSize > oldSize) {
+                fireIntervalAdded(this, oldSize, newSize - 1);
+            }
+            if (Math.min(oldSize, newSize) > 0) {
+                fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+            }
+        }
+
+        @Override
+        public int getSize() {
+            return players.size();
+        }
+
+        @Override
+        public DatabaseManager.Player getElementAt(int index) {
+            return players.get(index);
+        }
+    }
+
+    // Satu renderer yang dipakai ulang untuk semua baris yang terlihat
+    private class PlayerCellRenderer extends JPanel implements ListCellRenderer<DatabaseManager.Player> {
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel scoreLabel = new JLabel();
+        private boolean hovered = false;
+
+        PlayerCellRenderer() {
+            super(new BorderLayout());
+            setOpaque(false);
+            setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createEmptyBorder(1, 1, 3, 1), // Outer margin + jarak antar baris
+                    BorderFactory.createEmptyBorder(4, 8, 4, 8) // Inner padding
+            ));
+            nameLabel.setFont(NAME_FONT);
+            scoreLabel.setFont(SCORE_FONT);
+            add(nameLabel, BorderLayout.WEST);
+            add(scoreLabel, BorderLayout.EAST);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends DatabaseManager.Player> list,
+                DatabaseManager.Player player, int index, boolean isSelected, boolean cellHasFocus) {
+            // Rank and name, score info
+            nameLabel.setText((index + 1) + ". " + player.getName());
+            scoreLabel.setText(player.getHighScore() + "pts/" + player.getHighFishCount() + "fish");
+
+            hovered = index == hoveredIndex;
+            nameLabel.setForeground(hovered ? Color.BLACK : Color.WHITE);
+            scoreLabel.setForeground(hovered ? SCORE_HOVER_COLOR : SCORE_COLOR);
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (hovered) {
+                // Solid hover, tanpa menutupi jarak 2px antar baris
+                g.setColor(HOVER_BACKGROUND);
+                g.fillRect(0, 0, getWidth(), getHeight() - 2);
+            }
+        }
+    }
+}
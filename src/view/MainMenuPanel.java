@@ -6,21 +6,37 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.geom.RoundRectangle2D;
 import model.DatabaseManager;
+import util.AssetManager;
+import util.JfrEvents;
+import util.Log;
+import util.StartupTrace;
 import java.util.List;
 
 public class MainMenuPanel extends JPanel {
+    private static final Log LOG = Log.get(MainMenuPanel.class);
     private ActionListener startGameListener;
     private ActionListener exitGameListener;
     private Image backgroundImage;
+    private BackgroundLayer backgroundLayer; // Background yang sudah di-scale ke ukuran panel
     private Font titleFont;
     private Font buttonFont;
+    private Font subtitleFont;
+    private Font inputLabelFont;
 
     // Membuat constant variables untuk warna dan ukuran
     private final Color TITLE_COLOR = new Color(255, 215, 0); // Gold
     private final Color BUTTON_COLOR = new Color(70, 130, 180); // Steel Blue
     private final Color BUTTON_HOVER_COLOR = new Color(100, 149, 237); // Cornflower Blue
     private final Color BUTTON_TEXT_COLOR = Color.WHITE;
-    private final Color BACKGROUND_COLOR = new Color(135, 206, 235); // Sky Blue // Button states
+    private final Color BACKGROUND_COLOR = new Color(135, 206, 235); // Sky Blue
+    private final Color TITLE_SHADOW_COLOR = new Color(0, 0, 0, 100); // Semi-transparent black
+    private final Color SUBTITLE_COLOR = new Color(255, 255, 255, 200); // Semi-transparent white
+    private final Color BUTTON_SHADOW_COLOR = new Color(0, 0, 0, 50);
+    private final Color OUTLINE_COLOR = new Color(255, 255, 255, 100);
+    private final BasicStroke OUTLINE_STROKE = new BasicStroke(2);
+    private final String TITLE_TEXT = "LILO SI KUCING RAKUS";
+    private final String SUBTITLE_TEXT = "~ Lilo sang Pemancing Handal ~";
+    private final String INPUT_LABEL_TEXT = "Enter Your Name:"; // Button states
     private boolean startButtonHovered = false;
     private boolean exitButtonHovered = false;
 
@@ -31,9 +47,14 @@ public class MainMenuPanel extends JPanel {
     private List<DatabaseManager.Player> leaderboard;
 
     // Leaderboard components
-    // Inisialisasi leaderboard panel dan scroll pane dari JScrollPane dan JPanel
+    // Inisialisasi leaderboard list (virtualized) dan scroll pane dari JScrollPane
     private JScrollPane leaderboardScrollPane;
-    private JPanel leaderboardPanel;
+    private LeaderboardList leaderboardList;
+
+    // Lebar teks statis di-cache agar tidak diukur ulang setiap paint (-1 = belum diukur)
+    private int titleWidth = -1;
+    private int subtitleWidth = -1;
+    private int inputLabelWidth = -1;
 
     // Constructor
     // Inisialisasi panel dengan ukuran dan warna latar belakang
@@ -50,10 +71,15 @@ public class MainMenuPanel extends JPanel {
     }
 
     private void loadAssets() {
-        backgroundImage = new ImageIcon(getClass().getResource("/assets/backgroundd.png")).getImage();
+        long traceStart = StartupTrace.start();
+        backgroundImage = AssetManager.getInstance().getImage("/assets/backgroundd.png");
+        backgroundLayer = new BackgroundLayer(backgroundImage);
+        StartupTrace.span("asset_decode:menu", traceStart);
         // Setup fonts
         titleFont = new Font("Arial", Font.BOLD, 48);
         buttonFont = new Font("Arial", Font.BOLD, 18);
+        subtitleFont = new Font("Arial", Font.ITALIC, 20);
+        inputLabelFont = new Font("Arial", Font.BOLD, 16);
     }
 
     // Setup mouse listener untuk menangani klik dan hover pada tombol Start Game dan Exit
@@ -114,6 +140,7 @@ public class MainMenuPanel extends JPanel {
     // Override paintComponent untuk menggambar latar belakang, judul, tombol, dan input nama pemain
     @Override
     protected void paintComponent(Graphics g) {
+        JfrEvents.Paint paintEvent = JfrEvents.beginPaint();
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g.create(); 
 
@@ -125,6 +152,8 @@ public class MainMenuPanel extends JPanel {
         drawPlayerInputSection(g2d);
 
         g2d.dispose();
+        JfrEvents.commitPaint(paintEvent, "MainMenuPanel", g);
+        StartupTrace.markOnce("first_menu_paint");
     }
 
     private void drawButtons(Graphics2D g2d) {
@@ -142,37 +171,36 @@ public class MainMenuPanel extends JPanel {
     }
 
     private void drawBackground(Graphics2D g2d) {
-        g2d.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        backgroundLayer.paint(this, g2d);
     }
 
     private void drawTitle(Graphics2D g2d) {
         // Draw game title
-        String title = "LILO SI KUCING RAKUS";
         g2d.setFont(titleFont);
-        FontMetrics fm = g2d.getFontMetrics();
-        int titleWidth = fm.stringWidth(title);
+        if (titleWidth < 0) {
+            titleWidth = g2d.getFontMetrics().stringWidth(TITLE_TEXT);
+        }
         int titleX = (getWidth() - titleWidth) / 2;
         int titleY = getHeight() / 4;
 
         // Draw title shadow
-        g2d.setColor(new Color(0, 0, 0, 100)); // Semi-transparent black
-        g2d.drawString(title, titleX + 3, titleY + 3);
+        g2d.setColor(TITLE_SHADOW_COLOR);
+        g2d.drawString(TITLE_TEXT, titleX + 3, titleY + 3);
 
         // Draw title
         g2d.setColor(TITLE_COLOR);
-        g2d.drawString(title, titleX, titleY);
+        g2d.drawString(TITLE_TEXT, titleX, titleY);
 
         // Draw subtitle
-        String subtitle = "~ Lilo sang Pemancing Handal ~";
-        Font subtitleFont = new Font("Arial", Font.ITALIC, 20);
         g2d.setFont(subtitleFont);
-        FontMetrics subtitleFm = g2d.getFontMetrics();
-        int subtitleWidth = subtitleFm.stringWidth(subtitle);
+        if (subtitleWidth < 0) {
+            subtitleWidth = g2d.getFontMetrics().stringWidth(SUBTITLE_TEXT);
+        }
         int subtitleX = (getWidth() - subtitleWidth) / 2;
         int subtitleY = titleY + 50;
 
-        g2d.setColor(new Color(255, 255, 255, 200)); // Semi-transparent white
-        g2d.drawString(subtitle, subtitleX, subtitleY);
+        g2d.setColor(SUBTITLE_COLOR);
+        g2d.drawString(SUBTITLE_TEXT, subtitleX, subtitleY);
     }
 
     private void drawButton(Graphics2D g2d, String text, Rectangle bounds, boolean hovered) {
@@ -181,7 +209,7 @@ public class MainMenuPanel extends JPanel {
         Color textColor = BUTTON_TEXT_COLOR;
 
         // Draw button shadow
-        g2d.setColor(new Color(0, 0, 0, 50));
+        g2d.setColor(BUTTON_SHADOW_COLOR);
         RoundRectangle2D shadowButton = new RoundRectangle2D.Float(bounds.x + 3, bounds.y + 3, bounds.width, bounds.height, 15, 15);
         g2d.fill(shadowButton);
 
@@ -191,8 +219,8 @@ public class MainMenuPanel extends JPanel {
         g2d.fill(button);
 
         // Draw button border
-        g2d.setColor(new Color(255, 255, 255, 100));
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(OUTLINE_COLOR);
+        g2d.setStroke(OUTLINE_STROKE);
         g2d.draw(button);
 
         // Draw button text
@@ -213,15 +241,16 @@ public class MainMenuPanel extends JPanel {
 
         // Draw label
         g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        FontMetrics fm = g2d.getFontMetrics();
-        String label = "Enter Your Name:";
-        int labelX = 150 + (200 - fm.stringWidth(label)) / 2;
-        g2d.drawString(label, labelX, inputY);
+        g2d.setFont(inputLabelFont);
+        if (inputLabelWidth < 0) {
+            inputLabelWidth = g2d.getFontMetrics().stringWidth(INPUT_LABEL_TEXT);
+        }
+        int labelX = 150 + (200 - inputLabelWidth) / 2;
+        g2d.drawString(INPUT_LABEL_TEXT, labelX, inputY);
 
         // Draw input box outline (the actual input field is drawn by Swing)
-        g2d.setColor(new Color(255, 255, 255, 100));
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(OUTLINE_COLOR);
+        g2d.setStroke(OUTLINE_STROKE);
         g2d.drawRoundRect(149, inputY + 9, 202, 32, 8, 8);
     }
 
@@ -253,27 +282,12 @@ public class MainMenuPanel extends JPanel {
     }
 
     private void setupLeaderboard() {
-        // Create leaderboard panel
-        leaderboardPanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Background transparan dengan rounded corners
-                g2d.setColor(new Color(0, 0, 0, 80));
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
-
-                g2d.dispose();
-            }
-        };
-
-        leaderboardPanel.setLayout(new BoxLayout(leaderboardPanel, BoxLayout.Y_AXIS));
-        leaderboardPanel.setOpaque(false);
+        // Create leaderboard list - hanya baris yang terlihat yang dilukis
+        leaderboardList = new LeaderboardList();
+        leaderboardList.setPlayerClickListener(this::selectPlayerFromLeaderboard);
 
         // Create scroll pane
-        leaderboardScrollPane = new JScrollPane(leaderboardPanel);
+        leaderboardScrollPane = new JScrollPane(leaderboardList);
         leaderboardScrollPane.setBounds(480, 260, 250, 280); // Position and size
         leaderboardScrollPane.setOpaque(false);
         leaderboardScrollPane.getViewport().setOpaque(false);
@@ -327,93 +341,8 @@ public class MainMenuPanel extends JPanel {
     }
 
     private void updateLeaderboardDisplay() {
-        int scrollPosition = leaderboardScrollPane.getVerticalScrollBar().getValue();
-
-        leaderboardPanel.removeAll();
-
-        if (leaderboard != null && !leaderboard.isEmpty()) {
-            int rank = 1;
-            for (DatabaseManager.Player player : leaderboard) {
-                JPanel playerPanel = createPlayerPanel(player, rank);
-                leaderboardPanel.add(playerPanel);
-                
-                if (rank < leaderboard.size()) { 
-                    leaderboardPanel.add(Box.createVerticalStrut(2));
-                }
-                rank++;
-            }
-        } else {
-            JLabel noDataLabel = new JLabel("No scores yet");
-            noDataLabel.setFont(new Font("Arial", Font.ITALIC, 14));
-            noDataLabel.setForeground(new Color(200, 200, 200));
-            noDataLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            leaderboardPanel.add(noDataLabel);
-        }
-
-        SwingUtilities.invokeLater(() -> {
-            leaderboardPanel.revalidate();
-            leaderboardPanel.repaint();
-
-            // RESTORE SCROLL POSITION
-            leaderboardScrollPane.getVerticalScrollBar().setValue(scrollPosition);
-        });
-    }
-
-    private JPanel createPlayerPanel(DatabaseManager.Player player, int rank) {
-        JPanel playerPanel = new JPanel(new BorderLayout());
-        playerPanel.setOpaque(false);
-        
-        playerPanel.setMaximumSize(new Dimension(230, 32));
-        playerPanel.setPreferredSize(new Dimension(230, 32));
-        playerPanel.setMinimumSize(new Dimension(230, 32));
-        
-        playerPanel.setBorder(BorderFactory.createCompoundBorder(
-        BorderFactory.createEmptyBorder(1, 1, 1, 1), // Outer margin untuk avoid overlap
-        BorderFactory.createEmptyBorder(4, 8, 4, 8) // Inner padding
-        ));
-        playerPanel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-
-        // Rank and name
-        JLabel nameLabel = new JLabel(rank + ". " + player.getName());
-        nameLabel.setFont(new Font("Arial", Font.BOLD, 13));
-        nameLabel.setForeground(Color.WHITE);
-
-        // Score info
-        JLabel scoreLabel = new JLabel(player.getHighScore() + "pts/" + player.getHighFishCount() + "fish");
-        scoreLabel.setFont(new Font("Arial", Font.PLAIN, 11));
-        scoreLabel.setForeground(new Color(200, 200, 200));
-
-        playerPanel.add(nameLabel, BorderLayout.WEST);
-        playerPanel.add(scoreLabel, BorderLayout.EAST);// Add solid hover effect
-        playerPanel.addMouseListener(new java.awt.event.MouseAdapter() {
-            @Override
-            public void mouseEntered(java.awt.event.MouseEvent e) {
-                playerPanel.setOpaque(true);
-                playerPanel.setBackground(new Color(255, 215, 0)); // Solid gold, no transparency
-                nameLabel.setForeground(Color.BLACK);
-                scoreLabel.setForeground(new Color(60, 60, 60));
-
-                playerPanel.repaint();
-            }
-
-            @Override
-            public void mouseExited(java.awt.event.MouseEvent e) {
-                // KEMBALI KE TRANSPARENT
-                playerPanel.setOpaque(false);
-                playerPanel.setBackground(null);
-                nameLabel.setForeground(Color.WHITE);
-                scoreLabel.setForeground(new Color(200, 200, 200));
-
-                playerPanel.repaint();
-            }
-
-            @Override
-            public void mouseClicked(java.awt.event.MouseEvent e) {
-                selectPlayerFromLeaderboard(player);
-            }
-        });
-
-        return playerPanel;
+        // Model diganti isinya, baris dan posisi scroll tetap dipakai ulang oleh JList
+        leaderboardList.setPlayers(leaderboard);
     }
 
     private void selectPlayerFromLeaderboard(DatabaseManager.Player player) {
@@ -446,10 +375,12 @@ public class MainMenuPanel extends JPanel {
     private void loadLeaderboard() {
         try {
             DatabaseManager dbManager = DatabaseManager.getInstance();
+            long traceStart = StartupTrace.start();
             leaderboard = dbManager.getTopPlayers(20);
+            StartupTrace.span("leaderboard_query", traceStart);
             updateLeaderboardDisplay();
         } catch (Exception e) {
-            System.err.println("Error loading leaderboard: " + e.getMessage());
+            LOG.error("Error loading leaderboard: {}", e.getMessage());
         }
     }
 
@@ -1,89 +1,399 @@
 package view;
 
+import util.Log;
 import javax.sound.sampled.*;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
+import java.util.Arrays;
 
+/**
+ * SoundPlayer - Pemutar musik streaming lewat SourceDataLine
+ *
+ * File audio tidak di-decode ke memori seperti Clip. Thread audio sendiri
+ * ("audio-music") membaca AudioInputStream per potongan ~50 ms dan
+ * menuliskannya ke SourceDataLine, jadi memori untuk memutar konstan (satu
+ * buffer potongan + buffer line) berapa pun panjang lagunya. Saat loop, stream
+ * dibuka ulang di akhir file sementara line tetap berjalan dengan sisa
+ * buffernya, sehingga tidak ada jeda di titik loop.
+ *
+ * Konstruktor hanya mencari resource; header, decode, dan pembukaan line
+ * dilakukan thread audio saat play()/loop() pertama. Semua operasi line
+ * (start, stop, flush) juga hanya dilakukan thread audio: method publik
+ * cukup mengubah state dan membangunkan thread tersebut.
+ *
+ * File kecil (tidak lebih dari tmd.audio.cache_kb, default 512) dibaca sekali
+ * ke memori, sehingga loop dan restart berikutnya tidak melakukan I/O file.
+ * Cache menyimpan isi file apa adanya; untuk WAV PCM itu sebesar audio yang
+ * sudah di-decode, sama seperti Clip. Karena itu batas default kecil: musik
+ * latar yang panjang tetap di-stream dari resource dengan memori konstan.
+ *
+ * Agar mulai dari awal (restart, Play Again, titik loop) tidak menunggu I/O,
+ * detik pertama PCM disimpan di memori sebagai prefix, dan thread audio
+ * menyiapkan satu stream cadangan yang header-nya sudah dibaca dan sudah
+ * diposisikan tepat setelah prefix. Mulai dari awal = tulis prefix dari
+ * memori lalu lanjut membaca stream cadangan; cadangan berikutnya dibuka
+ * sambil prefix diputar. stop() tidak membuang cadangan ini. Player yang sama
+ * dipakai ulang antar game lewat AudioEngine, jadi line dan thread audio juga
+ * tetap hidup saat game di-restart.
+ */
 public class SoundPlayer {
-    private Clip clip;
-    private URL soundURL;
-    private long pausePosition = 0;
-    private boolean isPaused = false;
+    private static final Log LOG = Log.get(SoundPlayer.class);
+
+    private static final int CHUNKS_PER_SECOND = 20; // Potongan 50 ms per write
+    private static final int LINE_BUFFER_CHUNKS = 5; // Buffer line 250 ms
+    private static final int PREFIX_CHUNKS = 20; // Prefix 1 detik di memori untuk mulai dari awal
+    public static final String CACHE_PROPERTY = "tmd.audio.cache_kb";
+    private static final long DEFAULT_CACHE_KB = 512; // Sekitar 3 detik PCM 44.1 kHz stereo 16-bit
+
+    private enum State {
+        STOPPED, PLAYING, PAUSED, CLOSED
+    }
+
+    private final URL soundURL;
+
+    // State yang diminta, dijaga oleh lock this
+    private State state = State.STOPPED;
+    private boolean looping = false;
+    private int generation = 0; // Naik setiap play()/loop() agar lagu diputar dari awal
+    private Thread audioThread;
+    private boolean unavailable = false; // Format/line tidak didukung, semua perintah diabaikan
+
+    // Isi file yang sudah dibaca, null jika belum dibaca atau terlalu besar untuk di-cache
+    private volatile byte[] cachedBytes;
+    private boolean cacheChecked = false; // Dijaga oleh cacheLock
+    private final Object cacheLock = new Object(); // Terpisah dari lock state agar I/O tidak menahan EDT
+
+    // Hanya dipakai thread audio
+    private byte[] prefix; // PCM awal lagu, diisi saat stream pertama dibuka
+    private AudioInputStream standby; // Stream cadangan, sudah diposisikan setelah prefix
 
     public SoundPlayer(String filePath) {
-        try {
-            soundURL = getClass().getResource(filePath);
-            System.out.println("Sound file found at: " + soundURL);
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundURL);
-            clip = AudioSystem.getClip();
-            clip.open(audioStream);
-            System.out.println("Sound loaded successfully: " + filePath);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            System.err.println("Error loading sound: " + e.getMessage());
-            e.printStackTrace();
+        soundURL = getClass().getResource(filePath);
+        if (soundURL == null) {
+            LOG.warn("Sound file not found: {}", filePath);
         }
     }
 
     public void play() {
-        if (clip != null) {
-            clip.stop(); // Stop if already playing
-            clip.setFramePosition(0); // Rewind to the beginning
-            clip.start();
-        }
+        start(false);
     }
 
     public void loop() {
-        if (clip != null) {
-            System.out.println("Starting background music loop...");
-            clip.stop(); 
-            clip.setFramePosition(0); 
-            clip.loop(Clip.LOOP_CONTINUOUSLY); 
-        } else {
-            System.out.println("Cannot loop - clip is null!");
+        if (soundURL == null) {
+            LOG.warn("Cannot loop - sound file not found");
+            return;
         }
+        start(true);
     }
 
-    public void stop() {
-        if (clip != null && clip.isRunning()) {
-            clip.stop();
+    public synchronized void stop() {
+        if (state == State.PLAYING) {
+            setState(State.STOPPED);
         }
     }
 
-    public void close() {
-        if (clip != null) {
-            clip.close();
-        }
+    public synchronized void close() {
+        setState(State.CLOSED);
+        audioThread = null;
     }
 
     public void restart() {
-        if (clip != null) {
-            System.out.println("Restarting sound...");
-            stop();
-            loop();
-        } else {
-            System.out.println("Cannot restart - clip is null!");
+        if (soundURL == null) {
+            LOG.warn("Cannot restart - sound file not found");
+            return;
+        }
+        stop();
+        loop();
+    }
+
+    public synchronized void pause() {
+        if (state == State.PLAYING) {
+            setState(State.PAUSED);
         }
     }
 
-    public void pause() {
-        if (clip != null && clip.isRunning()) {
-            pausePosition = clip.getMicrosecondPosition();
-            clip.stop();
-            isPaused = true;
-            System.out.println("Music paused at position: " + pausePosition);
+    public synchronized void resume() {
+        if (state == State.PAUSED) {
+            looping = true; // Sama seperti sebelumnya: resume selalu melanjutkan loop
+            setState(State.PLAYING);
         }
     }
 
-    public void resume() {
-        if (clip != null && isPaused) {
-            clip.setMicrosecondPosition(pausePosition);
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
-            isPaused = false;
-            System.out.println("Music resumed from position: " + pausePosition);
+    public synchronized boolean isPaused() {
+        return state == State.PAUSED;
+    }
+
+    // Membaca isi file ke memori di thread pemanggil (misalnya saat startup)
+    public void preload() {
+        synchronized (cacheLock) {
+            if (soundURL == null || cacheChecked) {
+                return;
+            }
+            cacheChecked = true;
+            long limit = Long.getLong(CACHE_PROPERTY, DEFAULT_CACHE_KB) * 1024;
+            try {
+                URLConnection connection = soundURL.openConnection();
+                long length = connection.getContentLengthLong();
+                try (InputStream raw = connection.getInputStream()) {
+                    if (length >= 0 && length <= limit) {
+                        cachedBytes = raw.readAllBytes();
+                        LOG.debug("Sound cached: {} ({} bytes)", soundURL, cachedBytes.length);
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn("Cannot cache sound {}: {}", soundURL, e.getMessage());
+            }
         }
     }
 
-    public boolean isPaused() {
-        return isPaused;
+    // Putar dari awal, menyalakan thread audio jika belum ada
+    private synchronized void start(boolean loop) {
+        if (soundURL == null || unavailable || state == State.CLOSED) {
+            return;
+        }
+        looping = loop;
+        generation++;
+        setState(State.PLAYING);
+        if (audioThread == null) {
+            audioThread = new Thread(this::run, "audio-music");
+            audioThread.setDaemon(true);
+            audioThread.setPriority(Thread.MAX_PRIORITY);
+            audioThread.start();
+        }
+    }
+
+    private void setState(State next) {
+        state = next;
+        notifyAll();
+    }
+
+    // Loop thread audio: terapkan state yang diminta, lalu tulis satu potongan jika sedang main
+    private void run() {
+        AudioInputStream in = null; // Posisinya selalu setelah prefix
+        SourceDataLine line = null;
+        byte[] chunk = null;
+        int prefixPosition = 0; // Bagian prefix yang sudah ditulis ke line
+        int playingGeneration = -1;
+        try {
+            while (true) {
+                State current;
+                int currentGeneration;
+                boolean currentLooping;
+                synchronized (this) {
+                    current = state;
+                    currentGeneration = generation;
+                    currentLooping = looping;
+                }
+
+                if (current == State.CLOSED) {
+                    return;
+                }
+                if (current != State.PLAYING) {
+                    if (line != null) {
+                        line.stop(); // Data di buffer line tetap ada untuk resume
+                        if (current == State.STOPPED) {
+                            line.flush();
+                            closeQuietly(in);
+                            in = null;
+                        }
+                        if (Log.DEBUG) {
+                            LOG.debug("Music {} at {} us", current, line.getMicrosecondPosition());
+                        }
+                    }
+                    synchronized (this) {
+                        while (state == current && generation == currentGeneration) {
+                            wait();
+                        }
+                    }
+                    continue;
+                }
+
+                if (in == null || currentGeneration != playingGeneration) {
+                    // Mulai dari awal: pakai stream cadangan, buang sisa buffer lagu sebelumnya
+                    closeQuietly(in);
+                    in = takeStandby();
+                    if (in == null) {
+                        markUnavailable();
+                        return;
+                    }
+                    if (line == null) {
+                        line = openLine(in.getFormat());
+                        if (line == null) {
+                            markUnavailable();
+                            return;
+                        }
+                        int frameSize = Math.max(1, in.getFormat().getFrameSize());
+                        int framesPerChunk = Math.max(1, (int) in.getFormat().getFrameRate() / CHUNKS_PER_SECOND);
+                        chunk = new byte[framesPerChunk * frameSize];
+                    } else {
+                        line.stop();
+                        line.flush();
+                    }
+                    prefixPosition = 0;
+                    playingGeneration = currentGeneration;
+                }
+                if (!line.isRunning()) {
+                    line.start();
+                }
+
+                if (prefixPosition < prefix.length) {
+                    int length = Math.min(chunk.length, prefix.length - prefixPosition);
+                    line.write(prefix, prefixPosition, length);
+                    prefixPosition += length;
+                    if (standby == null) {
+                        standby = openAfterPrefix(); // I/O selagi line memutar prefix dari memori
+                    }
+                    continue;
+                }
+
+                int read = in.read(chunk, 0, chunk.length);
+                if (read > 0) {
+                    line.write(chunk, 0, read);
+                } else if (read < 0) {
+                    closeQuietly(in);
+                    if (currentLooping) {
+                        in = takeStandby(); // Kembali ke awal: prefix dari memori, lalu stream cadangan
+                        if (in == null) {
+                            markUnavailable();
+                            return;
+                        }
+                        prefixPosition = 0;
+                    } else {
+                        in = null;
+                        finishPlayback(line, currentGeneration);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOG.error("Error streaming sound: {}", e.getMessage(), e);
+            markUnavailable();
+        } finally {
+            closeQuietly(in);
+            closeQuietly(standby);
+            standby = null;
+            if (line != null) {
+                line.close();
+            }
+        }
+    }
+
+    // play() sekali: tunggu buffer line habis diputar, lalu kembali ke STOPPED
+    private void finishPlayback(SourceDataLine line, int playedGeneration) throws InterruptedException {
+        while (line.available() < line.getBufferSize()) {
+            synchronized (this) {
+                if (state != State.PLAYING || generation != playedGeneration) {
+                    return;
+                }
+                wait(10);
+            }
+        }
+        synchronized (this) {
+            if (state == State.PLAYING && generation == playedGeneration) {
+                setState(State.STOPPED);
+            }
+        }
+    }
+
+    // Stream yang siap dibaca setelah prefix, dibuka sekarang jika belum ada cadangan
+    private AudioInputStream takeStandby() throws IOException {
+        AudioInputStream stream = standby;
+        standby = null;
+        return stream != null ? stream : openAfterPrefix();
+    }
+
+    // Buka stream dan lewati prefix; stream pertama sekaligus mengisi prefix
+    private AudioInputStream openAfterPrefix() throws IOException {
+        AudioInputStream stream = openStream();
+        if (stream == null) {
+            return null;
+        }
+        if (prefix == null) {
+            AudioFormat format = stream.getFormat();
+            int frameSize = Math.max(1, format.getFrameSize());
+            int frames = Math.max(1, (int) format.getFrameRate() * PREFIX_CHUNKS / CHUNKS_PER_SECOND);
+            byte[] bytes = new byte[frames * frameSize];
+            int filled = 0;
+            int read;
+            while (filled < bytes.length && (read = stream.read(bytes, filled, bytes.length - filled)) > 0) {
+                filled += read;
+            }
+            prefix = filled == bytes.length ? bytes : Arrays.copyOf(bytes, filled);
+            return stream;
+        }
+        long remaining = prefix.length;
+        byte[] skipBuffer = null;
+        while (remaining > 0) {
+            long skipped = stream.skip(remaining);
+            if (skipped <= 0) {
+                // Stream hasil konversi tidak selalu bisa skip, baca dan buang
+                if (skipBuffer == null) {
+                    skipBuffer = new byte[(int) Math.min(remaining, 8192)];
+                }
+                skipped = stream.read(skipBuffer, 0, (int) Math.min(remaining, skipBuffer.length));
+                if (skipped < 0) {
+                    break;
+                }
+            }
+            remaining -= skipped;
+        }
+        return stream;
+    }
+
+    // Stream PCM dari file, dikonversi ke PCM signed jika encoding-nya lain
+    private AudioInputStream openStream() throws IOException {
+        preload();
+        try {
+            byte[] bytes = cachedBytes;
+            InputStream raw = bytes != null ? new ByteArrayInputStream(bytes)
+                    : new BufferedInputStream(soundURL.openStream());
+            AudioInputStream source = AudioSystem.getAudioInputStream(raw);
+            AudioFormat format = source.getFormat();
+            if (format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED
+                    || format.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED) {
+                return source;
+            }
+            AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                    format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+            return AudioSystem.getAudioInputStream(pcm, source);
+        } catch (UnsupportedAudioFileException e) {
+            LOG.error("Error loading sound: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private SourceDataLine openLine(AudioFormat format) {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(format);
+            int frameSize = Math.max(1, format.getFrameSize());
+            int bufferFrames = (int) format.getFrameRate() * LINE_BUFFER_CHUNKS / CHUNKS_PER_SECOND;
+            line.open(format, Math.max(1, bufferFrames) * frameSize);
+            LOG.debug("Sound line opened: {}", format);
+            return line;
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            LOG.warn("Audio line unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized void markUnavailable() {
+        unavailable = true;
+        state = State.STOPPED;
+        audioThread = null;
+    }
+
+    private static void closeQuietly(AudioInputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // Stream sudah tidak dipakai
+            }
+        }
     }
-}
\ No newline at end of file
+}
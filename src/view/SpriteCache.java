@@ -0,0 +1,179 @@
+package view;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SpriteCache - Cache gambar yang sudah di-scale, di-mirror, dan di-rotate
+ *
+ * Aset asli berukuran besar (ikan 2000x1666, tangan 196x1670), sehingga
+ * menggambar langsung dengan drawImage yang di-scale, lebar negatif (mirror),
+ * atau AffineTransform rotasi memaksa Java2D memakai jalur transformed-blit
+ * yang lambat di setiap frame.
+ *
+ * Class ini menyiapkan varian gambar sekali saja di compatible image
+ * (bisa diakselerasi oleh pipeline grafis), sehingga di paint cukup
+ * melakukan blit biasa 1:1:
+ * - Ikan: varian normal dan mirror per jenis ikan dan ukuran
+ * - Tangan: sudut dikuantisasi dan panjang dibulatkan ke bucket,
+ *   disimpan dalam LRU dengan batas jumlah pixel
+ */
+public class SpriteCache {
+    // Jumlah langkah sudut dalam satu putaran penuh (360 / 128 = ~2.8 derajat)
+    private static final int ANGLE_STEPS = 128;
+    // Panjang tangan dibulatkan ke kelipatan ini (pixel)
+    private static final int LENGTH_BUCKET = 8;
+    // Batas total pixel untuk cache tangan (~16 MB untuk ARGB)
+    private static final long HAND_PIXEL_BUDGET = 4_000_000L;
+
+    private static SpriteCache instance;
+
+    // Cache ikan: key = jenis, ukuran, dan arah
+    private final Map<Long, Image> fishCache = new HashMap<>();
+    // Cache tangan: LRU berdasarkan urutan akses
+    private final LinkedHashMap<Long, HandSprite> handCache = new LinkedHashMap<>(64, 0.75f, true);
+    private long handPixels = 0;
+
+    private SpriteCache() {
+    }
+
+    public static SpriteCache getInstance() {
+        if (instance == null) {
+            instance = new SpriteCache();
+        }
+        return instance;
+    }
+
+    // Mengambil gambar ikan yang sudah di-scale, mirror jika facingRight
+    public Image getFish(Image source, int fishType, int width, int height, boolean facingRight) {
+        if (source == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        long key = ((long) fishType << 40) | ((long) width << 24) | ((long) height << 8) | (facingRight ? 1 : 0);
+        Image cached = fishCache.get(key);
+        if (cached == null) {
+            BufferedImage image = createCompatibleImage(width, height);
+            Graphics2D g2d = image.createGraphics();
+            applyQualityHints(g2d);
+            if (facingRight) {
+                // Mirror horizontal sekali saja saat cache dibuat
+                g2d.drawImage(source, width, 0, -width, height, null);
+            } else {
+                g2d.drawImage(source, 0, 0, width, height, null);
+            }
+            g2d.dispose();
+            fishCache.put(key, image);
+            cached = image;
+        }
+        return cached;
+    }
+
+    // Mengambil sprite tangan yang sudah di-rotate dan di-stretch
+    // angle dalam radian (arah dari badan kucing ke target), length dalam pixel
+    public HandSprite getHand(Image source, int handWidth, double length, double angle) {
+        if (source == null || handWidth <= 0) {
+            return null;
+        }
+        int lengthBucket = (int) Math.round(length / LENGTH_BUCKET);
+        if (lengthBucket <= 0) {
+            return null;
+        }
+        int angleStep = Math.floorMod((int) Math.round(angle / (2 * Math.PI) * ANGLE_STEPS), ANGLE_STEPS);
+
+        long key = ((long) handWidth << 32) | ((long) lengthBucket << 8) | angleStep;
+        HandSprite sprite = handCache.get(key);
+        if (sprite == null) {
+            sprite = renderHand(source, handWidth, lengthBucket * LENGTH_BUCKET,
+                    angleStep * 2 * Math.PI / ANGLE_STEPS);
+            handCache.put(key, sprite);
+            handPixels += sprite.pixelCount();
+            evictHands();
+        }
+        return sprite;
+    }
+
+    private HandSprite renderHand(Image source, int handWidth, int handHeight, double angle) {
+        // Transform yang sama dengan versi lama: rotate lalu gambar dari (-w/2, 0)
+        AffineTransform rotation = AffineTransform.getRotateInstance(angle - Math.PI / 2);
+        Rectangle2D bounds = rotation
+                .createTransformedShape(new Rectangle(-handWidth / 2, 0, handWidth, handHeight))
+                .getBounds2D();
+        int offsetX = (int) Math.floor(bounds.getMinX());
+        int offsetY = (int) Math.floor(bounds.getMinY());
+        int width = (int) Math.ceil(bounds.getMaxX()) - offsetX;
+        int height = (int) Math.ceil(bounds.getMaxY()) - offsetY;
+
+        BufferedImage image = createCompatibleImage(Math.max(1, width), Math.max(1, height));
+        Graphics2D g2d = image.createGraphics();
+        applyQualityHints(g2d);
+        g2d.translate(-offsetX, -offsetY);
+        g2d.transform(rotation);
+        g2d.drawImage(source, -handWidth / 2, 0, handWidth, handHeight, null);
+        g2d.dispose();
+
+        return new HandSprite(image, offsetX, offsetY);
+    }
+
+    // Buang sprite tangan yang paling lama tidak dipakai jika melebihi budget
+    private void evictHands() {
+        Iterator<HandSprite> it = handCache.values().iterator();
+        while (handPixels > HAND_PIXEL_BUDGET && handCache.size() > 1 && it.hasNext()) {
+            HandSprite eldest = it.next();
+            handPixels -= eldest.pixelCount();
+            eldest.image.flush();
+            it.remove();
+        }
+    }
+
+    // Hapus semua gambar dari cache (misalnya saat aset diganti)
+    public void clear() {
+        for (Image image : fishCache.values()) {
+            image.flush();
+        }
+        for (HandSprite sprite : handCache.values()) {
+            sprite.image.flush();
+        }
+        fishCache.clear();
+        handCache.clear();
+        handPixels = 0;
+    }
+
+    private static void applyQualityHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    // Compatible image sesuai layar agar bisa di-cache di VRAM, fallback ke ARGB saat headless
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    // Sprite tangan beserta offset relatif terhadap titik pangkal (pusat kucing)
+    public static class HandSprite {
+        public final Image image;
+        public final int offsetX;
+        public final int offsetY;
+
+        HandSprite(BufferedImage image, int offsetX, int offsetY) {
+            this.image = image;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+
+        long pixelCount() {
+            return (long) image.getWidth(null) * image.getHeight(null);
+        }
+    }
+}
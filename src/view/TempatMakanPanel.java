@@ -1,5 +1,9 @@
 package view;
 
+import util.Disposable;
+import util.FrameProfiler;
+import util.JfrEvents;
+import util.Metrics;
 import viewmodel.GameViewModel;
 import viewmodel.TempatMakanViewModel;
 import javax.swing.*;
@@ -7,8 +11,9 @@ import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
-public class TempatMakanPanel extends JPanel implements PropertyChangeListener 
+public class TempatMakanPanel extends JPanel implements PropertyChangeListener, Disposable
 {
+    private static final Metrics.Counter REPAINTS_REQUESTED = Metrics.counter("render.repaints_requested");
     private GameViewModel gameViewModel;
 
     public TempatMakanPanel(GameViewModel gameViewModel) {
@@ -19,17 +24,22 @@ public class TempatMakanPanel extends JPanel implements PropertyChangeListener
 
     @Override
     protected void paintComponent(Graphics g) {
+        JfrEvents.Paint paintEvent = JfrEvents.beginPaint();
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g.create();
 
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
+        FrameProfiler.begin(FrameProfiler.Section.PAINT_TEMPAT_MAKAN);
         drawTempatMakan(g2d);
+        FrameProfiler.end(FrameProfiler.Section.PAINT_TEMPAT_MAKAN);
 
         g2d.dispose();
+        JfrEvents.commitPaint(paintEvent, "TempatMakanPanel", g);
     }
 
-    private void drawTempatMakan(Graphics2D g2d) {
+    // Package-private agar bisa diukur per layer oleh render harness
+    void drawTempatMakan(Graphics2D g2d) {
         // Check if tempat makan exists
         if (gameViewModel.getTempatMakanViewModel() == null) {
             // Draw a simple visual tempat makan jika TempatMakanViewModel belum dibuat
@@ -54,6 +64,13 @@ public class TempatMakanPanel extends JPanel implements PropertyChangeListener
 
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
+        REPAINTS_REQUESTED.inc();
         repaint();
     }
+
+    // Method to cleanup listeners when panel is disposed
+    @Override
+    public void dispose() {
+        gameViewModel.removePropertyChangeListener(this);
+    }
 }
\ No newline at end of file
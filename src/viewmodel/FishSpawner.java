@@ -0,0 +1,201 @@
+package viewmodel;
+
+import util.GameRandom;
+import util.Metrics;
+import java.util.Arrays;
+
+/**
+ * FishSpawner - Pencari posisi spawn ikan dengan jarak minimum (blue noise)
+ *
+ * Setiap jalur spawn (persegi posisi kiri-atas ikan) dibagi menjadi STRATA x
+ * STRATA kotak. Kandidat diambil satu per kotak dengan posisi acak di dalam
+ * kotaknya (jittered grid), dan kotak-kotak dikunjungi dalam urutan acak
+ * (start dan langkah acak yang koprima dengan jumlah kotak). Hasilnya sebaran
+ * blue noise: acak, tetapi tidak menggerombol.
+ *
+ * Kandidat diterima jika pusatnya berjarak minimal minDistance dari semua
+ * titik di grid penerimaan. Grid memakai sel berukuran minDistance, jadi satu
+ * cek hanya membaca 3x3 sel di sekitarnya, bukan semua ikan. Kandidat juga
+ * ditolak jika posisinya masuk zona terlarang (misalnya sekitar kucing).
+ *
+ * Satu spawn menguji paling banyak STRATA^2 kandidat per jalur, tanpa loop
+ * ulang: jika semua ditolak, spawn dilewati dan spawn() return false.
+ *
+ * Isi grid diisi ulang oleh pemanggil lewat clear() + add() sebelum satu batch
+ * spawn (ikan bergerak setiap tick); ikan yang berhasil di-spawn otomatis
+ * masuk grid sehingga batch yang sama tetap berjarak.
+ */
+final class FishSpawner {
+    private static final int STRATA = 4;
+    private static final int CELLS = STRATA * STRATA;
+
+    private static final Metrics.Histogram CANDIDATES = Metrics.histogram("fish.spawn_candidates");
+
+    private final GameRandom random;
+    private final int fishWidth;
+    private final int fishHeight;
+    private final int minDistance;
+    private final int[][] lanes; // {minX, minY, width, height} posisi kiri-atas
+
+    // Grid penerimaan: linked list titik per sel (tanpa alokasi per titik)
+    private final int gridMinX;
+    private final int gridMinY;
+    private final int gridCols;
+    private final int gridRows;
+    private final int[] cellHead;
+    private int[] pointX = new int[32];
+    private int[] pointY = new int[32];
+    private int[] pointNext = new int[32];
+    private int pointCount = 0;
+
+    // Zona terlarang untuk posisi kiri-atas, kosong jika excludeWidth == 0
+    private int excludeX;
+    private int excludeY;
+    private int excludeWidth;
+    private int excludeHeight;
+
+    // Posisi kiri-atas hasil spawn() terakhir yang berhasil
+    private int spawnX;
+    private int spawnY;
+
+    // lanes: {minX, minY, width, height} per jalur; minDistance 0 = tanpa jarak minimum
+    FishSpawner(GameRandom random, int fishWidth, int fishHeight, int minDistance, int[]... lanes) {
+        this.random = random;
+        this.fishWidth = fishWidth;
+        this.fishHeight = fishHeight;
+        this.minDistance = minDistance;
+        this.lanes = lanes;
+
+        if (minDistance > 0) {
+            // Grid mencakup semua pusat kandidat ditambah minDistance di setiap sisi,
+            // jadi titik di luar grid pasti cukup jauh dari kandidat mana pun
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+            for (int[] lane : lanes) {
+                minX = Math.min(minX, lane[0] + fishWidth / 2);
+                minY = Math.min(minY, lane[1] + fishHeight / 2);
+                maxX = Math.max(maxX, lane[0] + lane[2] + fishWidth / 2);
+                maxY = Math.max(maxY, lane[1] + lane[3] + fishHeight / 2);
+            }
+            gridMinX = minX - minDistance;
+            gridMinY = minY - minDistance;
+            gridCols = (maxX + minDistance - gridMinX) / minDistance + 1;
+            gridRows = (maxY + minDistance - gridMinY) / minDistance + 1;
+        } else {
+            gridMinX = 0;
+            gridMinY = 0;
+            gridCols = 0;
+            gridRows = 0;
+        }
+        cellHead = new int[gridCols * gridRows];
+        Arrays.fill(cellHead, -1);
+    }
+
+    // Kosongkan grid penerimaan
+    void clear() {
+        Arrays.fill(cellHead, -1);
+        pointCount = 0;
+    }
+
+    // Tambahkan ikan yang sudah ada (posisi kiri-atas) ke grid penerimaan
+    void add(int x, int y) {
+        addCenter(x + fishWidth / 2, y + fishHeight / 2);
+    }
+
+    // Larang posisi kiri-atas di dalam persegi ini, width 0 = tanpa larangan
+    void exclude(int x, int y, int width, int height) {
+        excludeX = x;
+        excludeY = y;
+        excludeWidth = width;
+        excludeHeight = height;
+    }
+
+    // Cari posisi di jalur lane (jalur lain dicoba jika penuh), return false jika tidak ada
+    boolean spawn(int lane) {
+        int tested = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            int[] bounds = lanes[(lane + i) % lanes.length];
+            int start = random.nextInt(CELLS);
+            int stride = random.nextInt(CELLS / 2) * 2 + 1; // Ganjil = koprima dengan 16
+            for (int k = 0; k < CELLS; k++) {
+                int cell = (start + k * stride) % CELLS;
+                int x = stratum(bounds[0], bounds[2], cell % STRATA);
+                int y = stratum(bounds[1], bounds[3], cell / STRATA);
+                tested++;
+                if (isAllowed(x, y)) {
+                    spawnX = x;
+                    spawnY = y;
+                    add(x, y);
+                    CANDIDATES.record(tested);
+                    return true;
+                }
+            }
+        }
+        CANDIDATES.record(tested);
+        return false;
+    }
+
+    int getSpawnX() {
+        return spawnX;
+    }
+
+    int getSpawnY() {
+        return spawnY;
+    }
+
+    // Posisi acak di kotak ke-index dari STRATA kotak sepanjang [min, min + size)
+    private int stratum(int min, int size, int index) {
+        int from = min + size * index / STRATA;
+        int to = min + size * (index + 1) / STRATA;
+        return to > from ? from + random.nextInt(to - from) : from;
+    }
+
+    private boolean isAllowed(int x, int y) {
+        if (excludeWidth > 0 && x >= excludeX && x < excludeX + excludeWidth
+                && y >= excludeY && y < excludeY + excludeHeight) {
+            return false;
+        }
+        if (minDistance <= 0) {
+            return true;
+        }
+        int centerX = x + fishWidth / 2;
+        int centerY = y + fishHeight / 2;
+        int col = (centerX - gridMinX) / minDistance;
+        int row = (centerY - gridMinY) / minDistance;
+        long minDistanceSq = (long) minDistance * minDistance;
+        for (int r = Math.max(0, row - 1); r <= Math.min(gridRows - 1, row + 1); r++) {
+            for (int c = Math.max(0, col - 1); c <= Math.min(gridCols - 1, col + 1); c++) {
+                for (int p = cellHead[r * gridCols + c]; p >= 0; p = pointNext[p]) {
+                    long dx = pointX[p] - centerX;
+                    long dy = pointY[p] - centerY;
+                    if (dx * dx + dy * dy < minDistanceSq) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addCenter(int centerX, int centerY) {
+        if (minDistance <= 0 || centerX < gridMinX || centerY < gridMinY) {
+            return;
+        }
+        int col = (centerX - gridMinX) / minDistance;
+        int row = (centerY - gridMinY) / minDistance;
+        if (col >= gridCols || row >= gridRows) {
+            return; // Di luar grid: terlalu jauh dari semua kandidat
+        }
+        if (pointCount == pointX.length) {
+            pointX = Arrays.copyOf(pointX, pointCount * 2);
+            pointY = Arrays.copyOf(pointY, pointCount * 2);
+            pointNext = Arrays.copyOf(pointNext, pointCount * 2);
+        }
+        int cell = row * gridCols + col;
+        pointX[pointCount] = centerX;
+        pointY[pointCount] = centerY;
+        pointNext[pointCount] = cellHead[cell];
+        cellHead[cell] = pointCount;
+        pointCount++;
+    }
+}
@@ -0,0 +1,48 @@
+package viewmodel;
+
+import util.Disposable;
+
+/**
+ * GameClock - Sumber waktu game dalam langkah tetap 60 per detik game
+ *
+ * Semua logika game (gerak kucing dan ikan, hand tracking, countdown, spawn)
+ * dihitung dalam langkah, bukan milidetik: satu detik game selalu
+ * TICKS_PER_SECOND langkah. Clock hanya menentukan kapan langkah-langkah itu
+ * dijalankan:
+ * - RealtimeClock: mengikuti jam dinding, bisa diperlambat/dipercepat (skala)
+ * - SteppedClock: virtual, langkah hanya berjalan lewat advance(), sehingga
+ *   satu game 60 detik selesai dalam hitungan milidetik
+ *
+ * advance(n) menjalankan n langkah segera di thread pemanggil pada clock apa
+ * pun (fast-forward); berhenti lebih awal jika stop() dipanggil dari dalam
+ * langkah (misalnya saat game over).
+ */
+public interface GameClock extends Disposable {
+    // Jumlah langkah per detik game
+    int TICKS_PER_SECOND = 60;
+
+    // Skala waktu clock realtime default, misalnya 0.25 (slow-mo) atau 10
+    String SCALE_PROPERTY = "tmd.clock.scale";
+
+    // Mulai menjalankan step sesuai jam ini
+    void start(Runnable step);
+
+    void stop();
+
+    boolean isRunning();
+
+    // Jalankan maksimal n langkah sekarang, return jumlah yang dijalankan
+    int advance(int steps);
+
+    // true jika clock menjalankan langkah sendiri mengikuti waktu nyata
+    boolean isRealtime();
+
+    // Clock realtime dengan skala dari -Dtmd.clock.scale (default 1)
+    static GameClock realtime() {
+        return new RealtimeClock(Double.parseDouble(System.getProperty(SCALE_PROPERTY, "1")));
+    }
+
+    static GameClock stepped() {
+        return new SteppedClock();
+    }
+}
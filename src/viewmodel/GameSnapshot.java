@@ -0,0 +1,146 @@
+package viewmodel;
+
+import model.Ikan;
+import util.VarintInput;
+import util.VarintOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GameSnapshot - Simpan dan pulihkan seluruh state game dalam format biner
+ *
+ * Mencakup state GameViewModel (skor, waktu, pause, ikan yang dibawa, tombol
+ * yang ditekan, tempat makan), KucingViewModelNew (posisi dan state tangan
+ * kucing, ikan di zona hijau, timer spawn) dan IkanViewModel (semua ikan),
+ * termasuk state setiap stream GameRandom, sehingga game yang dipulihkan
+ * berjalan persis sama dengan aslinya. Referensi ikan yang dibawa disimpan
+ * sebagai indeks di daftar ikannya.
+ *
+ * Setiap ViewModel menulis dan membaca field-nya sendiri lewat
+ * writeState/readState, tanpa reflection. Angka disimpan sebagai varint
+ * (posisi lewat zigzag), sehingga satu snapshot biasanya di bawah 1 KB.
+ * Event TimingWheel (countdown, spawn ikan) disimpan sebagai sisa tick oleh
+ * pemiliknya masing-masing dan dijadwalkan ulang saat dipulihkan.
+ *
+ * Format: "TMDS", versi, seed (8 byte), lebar, tinggi, lalu state
+ * GameViewModel. Naikkan VERSION setiap kali urutan atau isi field berubah;
+ * snapshot dengan versi lain ditolak. Snapshot diambil di antara langkah:
+ * event input yang belum diproses tidak ikut disimpan.
+ */
+public final class GameSnapshot {
+    static final byte[] MAGIC = { 'T', 'M', 'D', 'S' };
+    public static final int VERSION = 2; // 2: jadwal TimingWheel menggantikan counter spawn
+
+    private GameSnapshot() {
+    }
+
+    // Ambil snapshot game yang sedang berjalan
+    public static byte[] capture(GameViewModel game) {
+        VarintOutput out = new VarintOutput(1024);
+        out.writeBytes(MAGIC);
+        out.writeVarint(VERSION);
+        out.writeFixedLong(game.getSeed());
+        out.writeVarint(game.getPanelWidth());
+        out.writeVarint(game.getPanelHeight());
+        game.writeState(out);
+        return out.toByteArray();
+    }
+
+    // Buat GameViewModel baru dengan seed snapshot lalu pulihkan state-nya
+    public static GameViewModel load(byte[] data, boolean realtime) throws IOException {
+        VarintInput in = readHeader(data);
+        GameViewModel game = new GameViewModel(realtime, in.readFixedLong());
+        apply(game, in);
+        return game;
+    }
+
+    // Pulihkan state snapshot ke GameViewModel yang sudah ada
+    public static void restore(GameViewModel game, byte[] data) throws IOException {
+        VarintInput in = readHeader(data);
+        in.readFixedLong(); // Seed asli hanya informasi; state RNG dipulihkan per stream
+        apply(game, in);
+    }
+
+    public static void save(GameViewModel game, Path file) throws IOException {
+        Files.write(file, capture(game));
+    }
+
+    public static GameViewModel load(Path file, boolean realtime) throws IOException {
+        return load(Files.readAllBytes(file), realtime);
+    }
+
+    private static VarintInput readHeader(byte[] data) throws IOException {
+        VarintInput in = new VarintInput(data);
+        if (!in.readMagic(MAGIC)) {
+            throw new IOException("Not a game snapshot");
+        }
+        int version = in.readUnsignedInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version + " (expected " + VERSION + ")");
+        }
+        return in;
+    }
+
+    private static void apply(GameViewModel game, VarintInput in) throws IOException {
+        game.setPanelDimensions(in.readUnsignedInt(), in.readUnsignedInt());
+        if (!game.isGameRunning()) {
+            game.startGame();
+        }
+        game.readState(in);
+    }
+
+    // Helper untuk daftar ikan, dipakai KucingViewModelNew dan IkanViewModel
+
+    static void writeIkanList(VarintOutput out, List<Ikan> list) {
+        out.writeVarint(list.size());
+        for (Ikan ikan : list) {
+            out.writeZigzag(ikan.getPosX());
+            out.writeZigzag(ikan.getPosY());
+            out.writeVarint(ikan.getWidth());
+            out.writeVarint(ikan.getHeight());
+            out.writeVarint(ikan.getFishType());
+            int flags = (ikan.isBeingCaught() ? 1 : 0)
+                    | (ikan.isBeingCarried() ? 2 : 0)
+                    | (ikan.isBeingDelivered() ? 4 : 0)
+                    | (ikan.isMovingRight() ? 8 : 0);
+            out.writeByte(flags);
+            out.writeZigzag(ikan.getVelocityX());
+            out.writeVarint(ikan.getMoveSpeed());
+        }
+    }
+
+    static List<Ikan> readIkanList(VarintInput in) throws IOException {
+        int count = in.readUnsignedInt();
+        List<Ikan> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Ikan ikan = new Ikan(in.readZigzag(), in.readZigzag(), in.readUnsignedInt(), in.readUnsignedInt(),
+                    in.readUnsignedInt());
+            int flags = in.readByte();
+            ikan.setBeingCaught((flags & 1) != 0);
+            ikan.setBeingCarried((flags & 2) != 0);
+            ikan.setBeingDelivered((flags & 4) != 0);
+            ikan.setMovingRight((flags & 8) != 0);
+            int velocityX = in.readZigzag();
+            ikan.setMoveSpeed(in.readUnsignedInt());
+            ikan.setVelocityX(velocityX); // Setelah setMoveSpeed, agar ikan yang dibekukan tetap diam
+            list.add(ikan);
+        }
+        return list;
+    }
+
+    // Indeks ikan di daftar, -1 jika null
+    static void writeIkanRef(VarintOutput out, List<Ikan> list, Ikan ikan) {
+        out.writeZigzag(ikan != null ? list.indexOf(ikan) : -1);
+    }
+
+    static Ikan readIkanRef(VarintInput in, List<Ikan> list) throws IOException {
+        int index = in.readZigzag();
+        if (index < -1 || index >= list.size()) {
+            throw new IOException("Invalid fish reference: " + index);
+        }
+        return index >= 0 ? list.get(index) : null;
+    }
+}
@@ -1,10 +1,23 @@
 package viewmodel;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.awt.event.KeyEvent;
-import javax.swing.Timer;
 import model.DatabaseManager;
+import util.Disposable;
+import util.FrameProfiler;
+import util.GameRandom;
+import util.JfrEvents;
+import util.Lifecycle;
+import util.Log;
+import util.Metrics;
+import util.SoundEffects;
+import util.TimingWheel;
+import util.VarintInput;
+import util.VarintOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * GameViewModel - Pengendali utama logika permainan kucing menangkap ikan
@@ -19,12 +32,14 @@ import model.DatabaseManager;
  * 
  * FUNGSI UTAMA:
  * - Mengatur koordinasi antar ViewModel (Kucing, Ikan, TempatMakan)
- * - Mengelola timer game dan hand tracking untuk animasi
+ * - Menjalankan semua logika per langkah GameClock (realtime, diskalakan, atau virtual)
+ * - Menjadwalkan event berwaktu (countdown, spawn ikan) di TimingWheel waktu game
  * - Menangani input keyboard/mouse dan meneruskannya ke ViewModel yang tepat
  * - Mengelola sistem scoring dan high score dengan database
  * - Mengatur pause/resume dan reset game state
+ * - Melepas clock dan semua listener lewat dispose() saat game ditinggalkan
  */
-public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi dengan View
+public class GameViewModel implements Disposable { // Sistem PropertyChangeSupport untuk komunikasi dengan View
     private PropertyChangeSupport support;
 
     // ViewModel untuk mengelola kucing dan interaksinya
@@ -34,10 +49,40 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
     // ViewModel untuk mengelola ikan-ikan dalam game
     private IkanViewModel ikanViewModel;
 
-    // Timer untuk update hand tracking kucing (30 FPS)
-    private Timer handTrackingTimer;
-    // Timer untuk countdown waktu permainan (1 detik)
-    private Timer gameTimer;
+    // Sumber waktu game: semua logika berjalan per langkah clock ini
+    private final GameClock clock;
+    // Input mentah dari View, diterapkan sekali per langkah simulasi
+    private final InputQueue input = new InputQueue();
+    // Jumlah langkah input yang sudah diproses sejak game dimulai
+    private long inputStep = 0;
+    // Perekam replay (-Dtmd.replay.dir), null jika tidak merekam
+    private InputRecorder recorder;
+    // Kecepatan kucing per frame; diagonal sekitar 5/sqrt(2) per sumbu
+    private static final int KUCING_SPEED = 5;
+    private static final int KUCING_DIAGONAL_SPEED = 4;
+    // Pemilik semua timer GameViewModel, dilepas saat dispose()
+    private final Lifecycle lifecycle = new Lifecycle();
+
+    // Sumber semua angka random simulasi; setiap sub-ViewModel mendapat stream sendiri
+    private final GameRandom random;
+    // Jumlah langkah per detik game
+    public static final int TICKS_PER_SECOND = GameClock.TICKS_PER_SECOND;
+    // Hand tracking berjalan 30 FPS, yaitu setiap 2 tick
+    private static final int HAND_TRACKING_TICKS = 2;
+    // Jumlah langkah sejak game dimulai
+    private long tickCount = 0;
+    // Penjadwal event berwaktu, maju satu tick setiap langkah yang tidak di-pause
+    private final TimingWheel scheduler = new TimingWheel();
+    // Event countdown satu detik, berulang setiap TICKS_PER_SECOND tick
+    private TimingWheel.Timeout countdownTimeout;
+
+    private static final Log LOG = Log.get(GameViewModel.class);
+
+    // Metrics untuk dipantau lewat JMX
+    private static final Metrics.Counter GAME_TICKS = Metrics.counter("ticks.game");
+    private static final Metrics.Counter DELIVERY_TICKS = Metrics.counter("ticks.delivery");
+    // Counter events.<nama> per jenis event, di-cache agar tidak membuat String setiap event
+    private static final Map<String, Metrics.Counter> EVENT_COUNTERS = new ConcurrentHashMap<>();
 
     // Konfigurasi ukuran panel game
     private int panelWidth = 800;
@@ -46,7 +91,6 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
     // Status permainan utama
     private boolean isGameRunning = false;
     private boolean isPaused = false;
-    private boolean spaceKeyPressed = false; // Mencegah pause berulang saat spasi ditahan
 
     // Sistem scoring permainan
     private int score = 0; // Total poin dari nilai ikan yang ditangkap
@@ -59,27 +103,39 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
     // Manajemen pemain dan database
     private String currentPlayerName = ""; // Nama pemain yang sedang bermain
     private DatabaseManager databaseManager; // Koneksi ke database untuk menyimpan skor
+    // Efek suara, null di mode non-realtime (simulasi headless tidak bersuara)
+    private final SoundEffects soundEffects;
 
-    // Constructor utama - inisialisasi semua komponen game
+    // Constructor utama - inisialisasi semua komponen game (mode realtime)
     public GameViewModel() {
+        this(true);
+    }
+
+    // Constructor dengan pilihan mode waktu, realtime=false untuk simulasi lewat tick()
+    public GameViewModel(boolean realtime) {
+        this(realtime, GameRandom.defaultSeed());
+    }
+
+    // Constructor dengan seed tetap: seed yang sama + input yang sama = game yang sama
+    public GameViewModel(boolean realtime, long seed) {
+        this(realtime ? GameClock.realtime() : GameClock.stepped(), seed);
+    }
+
+    // Constructor dengan clock sendiri, misalnya new RealtimeClock(0.25) untuk slow-mo
+    public GameViewModel(GameClock clock, long seed) {
+        this.clock = lifecycle.register(clock);
+        this.random = new GameRandom(seed);
         // Setup sistem notifikasi perubahan
         support = new PropertyChangeSupport(this);
+        support.addPropertyChangeListener(GameViewModel::countEvent);
         // Inisialisasi database manager
         databaseManager = DatabaseManager.getInstance();
+        soundEffects = clock.isRealtime() ? SoundEffects.getInstance() : null;
 
         // Inisialisasi semua ViewModel dan setup koneksi antar mereka
         initializeViewModels();
-        // Setup timer untuk hand tracking animasi
-        setupHandTracking();
-        // Setup timer untuk countdown permainan
-        setupGameTimer();
         // Load skor tertinggi dari database
         loadHighScore();
-    } // Setup timer untuk hand tracking animasi kucing
-
-    private void setupHandTracking() {
-        // Timer berjalan 30 kali per detik untuk animasi yang smooth
-        handTrackingTimer = new Timer(1000 / 30, e -> updateHandTracking());
     }
 
     // State untuk proses pengantaran ikan ke tempat makan
@@ -93,7 +149,13 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
         }
 
         // Proses pengantaran ikan yang sedang dibawa kucing
+        DELIVERY_TICKS.inc();
+        JfrEvents.GameTick event = new JfrEvents.GameTick();
+        event.begin();
+        FrameProfiler.begin(FrameProfiler.Section.DELIVERY);
         updateFishDelivery();
+        FrameProfiler.end(FrameProfiler.Section.DELIVERY);
+        commitTickEvent(event, "delivery");
     } // Proses pengantaran ikan ke tempat makan
 
     private void updateFishDelivery() {
@@ -154,15 +216,16 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
             if (this.score > this.highScore) {
                 this.highScore = this.score;
             }
+            playSound(SoundEffects.Effect.DELIVERY);
         }
     } // Inisialisasi semua ViewModel dan setup komunikasi antar mereka
 
     private void initializeViewModels() {
         // Inisialisasi ViewModel kucing dengan semua logika game
-        kucingViewModelNew = new KucingViewModelNew();
+        kucingViewModelNew = new KucingViewModelNew(random.stream("kucing"), scheduler);
 
         // Inisialisasi ViewModel ikan
-        ikanViewModel = new IkanViewModel();
+        ikanViewModel = new IkanViewModel(random.stream("ikan"), scheduler);
 
         // TempatMakanViewModel akan dibuat setelah setPanelDimensions dipanggil
         // karena memerlukan koordinat yang tepat
@@ -170,39 +233,55 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
         // Setup forwarding event dari KucingViewModelNew ke GameViewModel
         kucingViewModelNew.addPropertyChangeListener(evt -> {
             // Teruskan semua event kucing ke listener GameViewModel
-            support.firePropertyChange(evt.getPropertyName(), evt.getOldValue(), evt.getNewValue());
+            forwardEvent(evt);
 
             // Handle event khusus untuk pembuatan tempat makan
             if ("tempatMakanCreated".equals(evt.getPropertyName())) {
                 // Buat TempatMakanViewModel ketika tempat makan sudah dibuat
                 if (evt.getNewValue() instanceof model.TempatMakan) {
+                    // Lepas TempatMakanViewModel lama sebelum diganti
+                    if (tempatMakanViewModel != null) {
+                        tempatMakanViewModel.dispose();
+                    }
                     tempatMakanViewModel = new TempatMakanViewModel((model.TempatMakan) evt.getNewValue());
                     tempatMakanViewModel.setVisible(false); // Mulai dengan tersembunyi
 
                     // Setup forwarding event dari TempatMakanViewModel
-                    tempatMakanViewModel.addPropertyChangeListener(tempatMakanEvt -> {
-                        support.firePropertyChange(tempatMakanEvt.getPropertyName(),
-                                tempatMakanEvt.getOldValue(),
-                                tempatMakanEvt.getNewValue());
-                    });
+                    tempatMakanViewModel.addPropertyChangeListener(this::forwardEvent);
                 }
             }
         });
 
         // Setup forwarding event dari KucingViewModelNew (backup listener)
         if (kucingViewModelNew != null) {
-            kucingViewModelNew.addPropertyChangeListener(evt -> {
-                support.firePropertyChange(evt.getPropertyName(), evt.getOldValue(), evt.getNewValue());
-            });
+            kucingViewModelNew.addPropertyChangeListener(this::forwardEvent);
         }
 
         // Setup forwarding event dari IkanViewModel
         if (ikanViewModel != null) {
-            ikanViewModel.addPropertyChangeListener(evt -> {
-                support.firePropertyChange(evt.getPropertyName(), evt.getOldValue(), evt.getNewValue());
-                // Scoring untuk delivery ikan sudah dihandle di handleFishDelivered()
-            });
+            // Scoring untuk delivery ikan sudah dihandle di handleFishDelivered()
+            ikanViewModel.addPropertyChangeListener(this::forwardEvent);
         }
+    }
+
+    // Hitung setiap event yang di-fire GameViewModel (termasuk yang diteruskan) per jenis
+    private static void countEvent(PropertyChangeEvent evt) {
+        String name = evt.getPropertyName();
+        if (name == null) {
+            return;
+        }
+        Metrics.Counter counter = EVENT_COUNTERS.get(name);
+        if (counter == null) {
+            counter = EVENT_COUNTERS.computeIfAbsent(name, key -> Metrics.counter("events." + key));
+        }
+        counter.inc();
+    }
+
+    // Teruskan event ViewModel anak ke listener GameViewModel (diukur sebagai event dispatch)
+    private void forwardEvent(PropertyChangeEvent evt) {
+        FrameProfiler.begin(FrameProfiler.Section.EVENTS);
+        support.firePropertyChange(evt.getPropertyName(), evt.getOldValue(), evt.getNewValue());
+        FrameProfiler.end(FrameProfiler.Section.EVENTS);
     } // Method konfigurasi game
 
     // Mengatur ukuran panel game dan update semua ViewModel terkait
@@ -233,46 +312,104 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
 
             // Set flag game sedang berjalan
             isGameRunning = true;
+            tickCount = 0;
+            inputStep = 0;
+            LOG.info("Game started with seed {}", random.getSeed());
+            recorder = InputRecorder.createIfEnabled(random.getSeed(), panelWidth, panelHeight);
+            scheduleCountdown(TICKS_PER_SECOND);
 
-            // Mulai loop game dan animasi kucing
-            if (kucingViewModelNew != null) {
-                kucingViewModelNew.startGameLoop();
-                kucingViewModelNew.startAnimation();
-            }
-            // Mulai pergerakan ikan
-            if (ikanViewModel != null) {
-                ikanViewModel.startMovement();
-            }
-
-            // Mulai timer hand tracking jika belum berjalan
-            if (handTrackingTimer != null && !handTrackingTimer.isRunning()) {
-                handTrackingTimer.start();
-            }
-
-            // Mulai timer countdown game
-            if (gameTimer != null && !gameTimer.isRunning()) {
-                remainingTime = gameTimeLimit; // Reset waktu tersisa
-                gameTimer.start();
-            }
+            // Mulai clock: di mode realtime langkah berjalan sendiri, di mode
+            // stepped game maju lewat tick()
+            clock.start(this::step);
 
             // Beritahu UI bahwa game sudah dimulai
             support.firePropertyChange("gameRunning", false, true);
         }
-    } // Menghentikan permainan
+    }
+
+    // Maju satu langkah sekarang juga (fast-forward di mode realtime)
+    public void tick() {
+        if (!isGameRunning) {
+            return;
+        }
+        clock.advance(1);
+    }
+
+    // Satu langkah GameClock, dibungkus event JFR tmd.GameTick
+    private void step() {
+        JfrEvents.GameTick event = new JfrEvents.GameTick();
+        event.begin();
+        advanceTick();
+        commitTickEvent(event, "tick");
+    }
+
+    // Urutan satu langkah: input, kucing (dua update), pergerakan ikan, hand
+    // tracking tiap 2 langkah (30 FPS), lalu event TimingWheel yang jatuh tempo
+    // (countdown, spawn ikan). Saat pause wheel tidak maju, jadi waktu game berhenti
+    private void advanceTick() {
+        tickCount++;
+        GAME_TICKS.inc();
+        processInput();
+
+        // Kucing tetap di-update saat pause agar animasi dan input tetap hidup
+        if (kucingViewModelNew != null) {
+            kucingViewModelNew.actionPerformed(null); // Update gerak kucing
+            kucingViewModelNew.actionPerformed(null); // Update animasi kucing
+        }
+        if (isPaused) {
+            return;
+        }
 
+        if (ikanViewModel != null) {
+            ikanViewModel.actionPerformed(null);
+        }
+        if (tickCount % HAND_TRACKING_TICKS == 0) {
+            updateHandTracking();
+        }
+        scheduler.advance();
+    }
+
+    // Jadwalkan countdown berikutnya delay tick lagi, lalu setiap detik game
+    private void scheduleCountdown(int delay) {
+        if (countdownTimeout != null) {
+            countdownTimeout.cancel();
+        }
+        countdownTimeout = scheduler.scheduleRepeating(delay, TICKS_PER_SECOND, this::countdown);
+    }
+
+    // Tutup event JFR tmd.GameTick dan commit jika JFR sedang merekam
+    private void commitTickEvent(JfrEvents.GameTick event, String kind) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.fishCount = ikanViewModel != null ? ikanViewModel.getAvailableIkanCount() : 0;
+            event.paused = isPaused;
+            event.commit();
+        }
+    }
+
+    // Mengecek mode waktu game
+    public boolean isRealtime() {
+        return clock.isRealtime();
+    }
+
+    // Menghentikan permainan
     public void stopGame() {
         if (isGameRunning) {
             // Set flag game tidak berjalan
             isGameRunning = false;
 
-            // Hentikan timer hand tracking
-            if (handTrackingTimer != null && handTrackingTimer.isRunning()) {
-                handTrackingTimer.stop();
+            // Hentikan clock, tidak ada langkah lagi sampai game berikutnya
+            clock.stop();
+            if (countdownTimeout != null) {
+                countdownTimeout.cancel();
             }
 
-            // Hentikan timer countdown game
-            if (gameTimer != null && gameTimer.isRunning()) {
-                gameTimer.stop();
+            // Tutup dan simpan rekaman replay game ini
+            if (recorder != null) {
+                recorder.finish(inputStep, score, fishCount);
+                recorder.save();
+                recorder = null;
             }
 
             // Beritahu UI bahwa game sudah dihentikan
@@ -445,6 +582,8 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
 
         // Reset state ikan yang sedang dibawa
         this.carriedFish = null;
+        // Input dari game sebelumnya (termasuk tombol yang masih tercatat ditekan) dibuang
+        input.clear();
 
         // Reset state kucing ke kondisi awal
         if (kucingViewModelNew != null) {
@@ -474,6 +613,11 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
 
     // Method getter untuk state permainan
 
+    // Seed game ini, untuk mengulang game yang sama lewat -Dtmd.seed
+    public long getSeed() {
+        return random.getSeed();
+    }
+
     // Mengecek apakah game sedang berjalan
     public boolean isGameRunning() {
         return isGameRunning;
@@ -493,6 +637,84 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
         return panelHeight;
     }
 
+    // Tulis state untuk GameSnapshot, diikuti state ViewModel anak
+    void writeState(VarintOutput out) {
+        out.writeVarint(score);
+        out.writeVarint(fishCount);
+        out.writeVarint(highScore);
+        out.writeVarint(gameTimeLimit);
+        out.writeZigzag(remainingTime);
+        out.writeBoolean(isTimeUp);
+        out.writeBoolean(isPaused);
+        out.writeVarint(tickCount);
+        out.writeVarint(countdownTimeout != null ? countdownTimeout.remainingTicks() : 0);
+        out.writeVarint(inputStep);
+        out.writeVarint(input.getKeys());
+
+        model.TempatMakan tmModel = tempatMakanViewModel != null ? tempatMakanViewModel.getModel() : null;
+        out.writeBoolean(tmModel != null);
+        if (tmModel != null) {
+            out.writeZigzag(tmModel.getPosX());
+            out.writeZigzag(tmModel.getPosY());
+            out.writeVarint(tmModel.getWidth());
+            out.writeVarint(tmModel.getHeight());
+            out.writeBoolean(tmModel.isVisible());
+            out.writeVarint(tmModel.getFishCount());
+        }
+
+        kucingViewModelNew.writeState(out);
+        ikanViewModel.writeState(out);
+        // Ikan yang dibawa merujuk ke daftar IkanViewModel, jadi ditulis setelahnya
+        GameSnapshot.writeIkanRef(out, ikanViewModel.getListIkan(), carriedFish);
+    }
+
+    // Baca state dari GameSnapshot, urutan sama dengan writeState
+    void readState(VarintInput in) throws IOException {
+        score = in.readUnsignedInt();
+        fishCount = in.readUnsignedInt();
+        highScore = Math.max(highScore, in.readUnsignedInt());
+        gameTimeLimit = in.readUnsignedInt();
+        remainingTime = in.readZigzag();
+        isTimeUp = in.readBoolean();
+        boolean paused = in.readBoolean();
+        tickCount = in.readVarint();
+        int countdownDelay = in.readUnsignedInt();
+        if (countdownDelay > 0) {
+            scheduleCountdown(countdownDelay);
+        } else if (countdownTimeout != null) {
+            countdownTimeout.cancel();
+        }
+        inputStep = in.readVarint();
+        input.clear();
+        input.restoreKeys((int) in.readVarint());
+
+        if (in.readBoolean()) {
+            int x = in.readZigzag();
+            int y = in.readZigzag();
+            int width = in.readUnsignedInt();
+            int height = in.readUnsignedInt();
+            boolean visible = in.readBoolean();
+            int tmFishCount = in.readUnsignedInt();
+            if (tempatMakanViewModel != null) {
+                tempatMakanViewModel.getModel().setSize(width, height);
+                tempatMakanViewModel.setPosition(x, y);
+                tempatMakanViewModel.setVisible(visible);
+                tempatMakanViewModel.getModel().setFishCount(tmFishCount);
+            }
+        }
+
+        kucingViewModelNew.readState(in);
+        ikanViewModel.readState(in);
+        carriedFish = GameSnapshot.readIkanRef(in, ikanViewModel.getListIkan());
+
+        if (paused != isPaused) {
+            togglePause();
+        }
+        support.firePropertyChange("scoreChanged", -1, score);
+        support.firePropertyChange("fishCountChanged", -1, fishCount);
+        support.firePropertyChange("remainingTime", -1, remainingTime);
+    }
+
     // Support untuk PropertyChange listener // Menambahkan listener untuk
     // mendengarkan perubahan property
     public void addPropertyChangeListener(PropertyChangeListener listener) {
@@ -504,66 +726,118 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
         support.removePropertyChangeListener(listener);
     }
 
+    // Melepas semua timer, ViewModel anak, dan listener
+    // Dipanggil saat game ditinggalkan (restart atau kembali ke menu)
+    @Override
+    public void dispose() {
+        stopGame();
+        lifecycle.dispose();
+
+        if (kucingViewModelNew != null) {
+            kucingViewModelNew.dispose();
+        }
+        if (ikanViewModel != null) {
+            ikanViewModel.dispose();
+        }
+        if (tempatMakanViewModel != null) {
+            tempatMakanViewModel.dispose();
+        }
+        this.carriedFish = null;
+
+        for (PropertyChangeListener listener : support.getPropertyChangeListeners()) {
+            support.removePropertyChangeListener(listener);
+        }
+    }
+
     // Method penanganan event input dari UI
+    // Semua event hanya dicatat ke InputQueue, lalu diterapkan sekali per langkah di processInput()
 
     // Menangani tombol keyboard yang ditekan
     public void handleKeyPressed(int keyCode) {
-        // Handle pause/resume dengan tombol SPACE - hanya sekali per key press
-        if (keyCode == KeyEvent.VK_SPACE) {
-            if (!spaceKeyPressed) { // Hanya toggle jika space belum ditekan sebelumnya
-                spaceKeyPressed = true;
-                togglePause(); // Toggle status pause/resume
-            }
-            return; // Keluar dari method setelah handle pause
+        if (recorder != null) {
+            recorder.keyPressed(inputStep, keyCode);
         }
+        input.keyPressed(keyCode);
+    }
 
-        // Jika game sedang pause, jangan proses input movement
-        if (isPaused) {
-            return;
+    // Menangani tombol keyboard yang dilepas
+    public void handleKeyReleased(int keyCode) {
+        if (recorder != null) {
+            recorder.keyReleased(inputStep, keyCode);
         }
+        input.keyReleased(keyCode);
+    }
 
-        // Proses input pergerakan kucing menggunakan KucingViewModelNew
-        if (kucingViewModelNew != null) {
-            switch (keyCode) {
-                case KeyEvent.VK_W:
-                case KeyEvent.VK_UP:
-                    // Gerak ke atas
-                    kucingViewModelNew.setKucingVelocity(0, -5);
+    // Menangani klik mouse pada game panel
+    public void handleMousePressed(int x, int y) {
+        if (recorder != null) {
+            recorder.mousePressed(inputStep, x, y);
+        }
+        input.mousePressed(x, y);
+    }
+
+    // Menangani mouse button yang dilepas
+    public void handleMouseReleased() {
+        if (recorder != null) {
+            recorder.mouseReleased(inputStep);
+        }
+        input.mouseReleased();
+    }
+
+    // Menangani pergerakan mouse di atas game panel (digabung per langkah)
+    public void handleMouseMoved(int x, int y) {
+        if (recorder != null) {
+            recorder.mouseMoved(inputStep, x, y);
+        }
+        input.mouseMoved(x, y);
+    }
+
+    // Terapkan input yang terkumpul sejak langkah sebelumnya
+    private void processInput() {
+        FrameProfiler.begin(FrameProfiler.Section.INPUT);
+        inputStep++;
+        while (input.next()) {
+            switch (input.type()) {
+                case InputQueue.PAUSE_TOGGLED:
+                    togglePause(); // Toggle status pause/resume
                     break;
-                case KeyEvent.VK_S:
-                case KeyEvent.VK_DOWN:
-                    // Gerak ke bawah
-                    kucingViewModelNew.setKucingVelocity(0, 5);
+                case InputQueue.MOUSE_PRESSED:
+                    applyMousePressed(input.x(), input.y());
                     break;
-                case KeyEvent.VK_A:
-                case KeyEvent.VK_LEFT:
-                    // Gerak ke kiri
-                    kucingViewModelNew.setKucingVelocity(-5, 0);
+                case InputQueue.MOUSE_RELEASED:
+                    applyMouseReleased();
                     break;
-                case KeyEvent.VK_D:
-                case KeyEvent.VK_RIGHT:
-                    // Gerak ke kanan
-                    kucingViewModelNew.setKucingVelocity(5, 0);
+                case InputQueue.MOUSE_MOVED:
+                    applyMouseMoved(input.x(), input.y());
                     break;
             }
         }
+        applyMovementKeys(input.getKeys());
+        FrameProfiler.end(FrameProfiler.Section.INPUT);
     }
 
-    // Menangani tombol keyboard yang dilepas
-    public void handleKeyReleased(int keyCode) {
-        // Reset flag space key ketika tombol space dilepas
-        if (keyCode == KeyEvent.VK_SPACE) {
-            spaceKeyPressed = false;
+    // Kecepatan kucing dari tombol arah yang sedang ditekan, diagonal jika dua arah ditekan
+    private void applyMovementKeys(int keys) {
+        if (kucingViewModelNew == null) {
             return;
         }
-
-        // Hentikan pergerakan kucing ketika tombol movement dilepas
-        if (kucingViewModelNew != null) {
-            kucingViewModelNew.setKucingVelocity(0, 0);
+        int dx = 0;
+        int dy = 0;
+        // Jika game sedang pause, kucing tidak bergerak
+        if (!isPaused) {
+            dx = ((keys & InputQueue.KEY_RIGHT) != 0 ? 1 : 0) - ((keys & InputQueue.KEY_LEFT) != 0 ? 1 : 0);
+            dy = ((keys & InputQueue.KEY_DOWN) != 0 ? 1 : 0) - ((keys & InputQueue.KEY_UP) != 0 ? 1 : 0);
+        }
+        int speed = dx != 0 && dy != 0 ? KUCING_DIAGONAL_SPEED : KUCING_SPEED;
+        int vx = dx * speed;
+        int vy = dy * speed;
+        // Hanya set jika berubah, agar event kucingVelocity tidak di-fire setiap langkah
+        if (vx != kucingViewModelNew.getKucingVelocityX() || vy != kucingViewModelNew.getKucingVelocityY()) {
+            kucingViewModelNew.setKucingVelocity(vx, vy);
         }
-    } // Menangani klik mouse pada game panel
+    }
 
-    public void handleMousePressed(int x, int y) {
+    private void applyMousePressed(int x, int y) {
         // Hanya bisa beraksi jika kucing tidak sedang membawa ikan
         if (kucingViewModelNew != null && carriedFish == null) {
             // Cek apakah pengguna mengklik ikan yang tersedia
@@ -574,6 +848,7 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
                     this.carriedFish = clickedFish;
                     // Beri tahu IkanViewModel agar ikan ini tidak bergerak sendiri
                     ikanViewModel.setIkanBeingCarried(this.carriedFish, true);
+                    playSound(SoundEffects.Effect.CATCH);
 
                     // Aktifkan tangan kucing dan arahkan ke posisi ikan
                     kucingViewModelNew.setHandActive(true);
@@ -599,8 +874,7 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
         }
     }
 
-    // Menangani mouse button yang dilepas
-    public void handleMouseReleased() {
+    private void applyMouseReleased() {
         // Hanya deactivate tangan jika tidak sedang membawa ikan
         if (kucingViewModelNew != null && carriedFish == null) {
             // Nonaktifkan tangan kucing
@@ -608,48 +882,53 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
         }
     }
 
-    // Menangani pergerakan mouse di atas game panel
-    public void handleMouseMoved(int x, int y) {
+    private void applyMouseMoved(int x, int y) {
         if (kucingViewModelNew != null) {
             // Update target tangan jika tangan sedang aktif
             if (kucingViewModelNew.isHandActive()) {
                 kucingViewModelNew.setHandTarget(x, y);
             }
-        } // Cek hover effect di tempat makan menggunakan KucingViewModelNew
-        if (kucingViewModelNew != null) {
+            // Cek hover effect di tempat makan
             kucingViewModelNew.setTempatMakanHover(x, y);
         }
     }
 
-    // Setup timer untuk countdown permainan
-    private void setupGameTimer() {// Timer untuk countdown game (update setiap 1 detik) // Timer berjalan setiap 1
-                                   // detik untuk mengurangi waktu tersisa
-        gameTimer = new Timer(1000, e -> {
-            // Hanya countdown jika game berjalan dan tidak di-pause
-            if (isGameRunning && !isPaused) {
-                remainingTime--;
+    // Kurangi waktu tersisa satu detik (event TimingWheel setiap TICKS_PER_SECOND tick)
+    private void countdown() {
+        // Hanya countdown jika game berjalan dan tidak di-pause
+        if (isGameRunning && !isPaused) {
+            JfrEvents.GameTick event = new JfrEvents.GameTick();
+            event.begin();
+            remainingTime--;
 
-                // Beritahu UI untuk update tampilan waktu
-                support.firePropertyChange("remainingTime", remainingTime + 1, remainingTime);
+            // Beritahu UI untuk update tampilan waktu
+            support.firePropertyChange("remainingTime", remainingTime + 1, remainingTime);
 
-                // Cek apakah waktu sudah habis
-                if (remainingTime <= 0) {
-                    gameOver(); // Akhiri permainan
-                }
+            // Cek apakah waktu sudah habis
+            if (remainingTime <= 0) {
+                gameOver(); // Akhiri permainan
             }
-        });
+            commitTickEvent(event, "countdown");
+        }
+    }
+
+    // Memutar efek suara (tanpa alokasi, aman di jalur game loop)
+    private void playSound(SoundEffects.Effect effect) {
+        if (soundEffects != null) {
+            soundEffects.play(effect);
+        }
     }
 
     // Menangani akhir permainan ketika waktu habis
     private void gameOver() {
         // Set flag bahwa waktu sudah habis
         isTimeUp = true;
-        isGameRunning = false;
+        playSound(SoundEffects.Effect.TIME_UP);
 
         // Simpan skor ke database
         saveHighScore();
 
-        // Hentikan semua timer
+        // Hentikan semua timer (stopGame juga men-set isGameRunning = false)
         stopGame();
 
         // Beritahu UI bahwa game berakhir
@@ -739,36 +1018,7 @@ public class GameViewModel { // Sistem PropertyChangeSupport untuk komunikasi de
         // Toggle status pause
         isPaused = !isPaused;
 
-        if (isPaused) {
-            // PAUSE GAME - hentikan semua timer dan aktivitas
-            if (gameTimer != null && gameTimer.isRunning()) {
-                gameTimer.stop();
-            }
-            if (handTrackingTimer != null && handTrackingTimer.isRunning()) {
-                handTrackingTimer.stop();
-            }
-            // Hentikan pergerakan ikan
-            if (ikanViewModel != null) {
-                ikanViewModel.stopMovement();
-            }
-
-            // Beritahu UI untuk menampilkan overlay pause
-            support.firePropertyChange("gamePaused", false, true);
-        } else {
-            // RESUME GAME - jalankan kembali semua timer dan aktivitas
-            if (gameTimer != null && !gameTimer.isRunning()) {
-                gameTimer.start();
-            }
-            if (handTrackingTimer != null && !handTrackingTimer.isRunning()) {
-                handTrackingTimer.start();
-            }
-            // Lanjutkan pergerakan ikan
-            if (ikanViewModel != null) {
-                ikanViewModel.startMovement();
-            }
-
-            // Beritahu UI untuk menyembunyikan overlay pause
-            support.firePropertyChange("gameResumed", false, true);
-        }
+        // Langkah berikutnya melewati ikan, hand tracking, dan countdown selama pause
+        support.firePropertyChange(isPaused ? "gamePaused" : "gameResumed", false, true);
     }
 }
\ No newline at end of file
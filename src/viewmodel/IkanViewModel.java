@@ -1,14 +1,21 @@
 package viewmodel;
 
 import model.Ikan;
-import javax.swing.Timer;
+import util.Disposable;
+import util.FrameProfiler;
+import util.GameRandom;
+import util.JfrEvents;
+import util.Metrics;
+import util.TimingWheel;
+import util.VarintInput;
+import util.VarintOutput;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * IkanViewModel - ViewModel untuk mengelola semua ikan dalam game
@@ -26,73 +33,120 @@ import java.util.Random;
 
 // Class untuk mengelola semua ikan dalam game
 // Mengatur spawn, movement, dan interaksi ikan
-public class IkanViewModel implements ActionListener {
+public class IkanViewModel implements ActionListener, Disposable {
     // Daftar semua ikan yang ada di game saat ini
     private List<Ikan> listIkan;
     // Support untuk memberitahu komponen lain tentang perubahan
-    private final PropertyChangeSupport propertyChangeSupport; // Generator angka random untuk spawn dan movement
-    private final Random random;
-    // Timer untuk mengontrol pergerakan ikan secara otomatis
-    private Timer movementTimer;
+    private final PropertyChangeSupport propertyChangeSupport;
+    // Generator angka random untuk spawn ikan
+    private final GameRandom random;
+    // Stream terpisah untuk jitter collision avoidance, agar tidak menggeser deret spawn
+    private final GameRandom avoidRandom;
+    // Stream untuk jeda spawn ikan tambahan, juga terpisah dari deret spawn
+    private final GameRandom extraSpawnRandom;
+    // Penjadwal spawn ikan tambahan; milik sendiri jika IkanViewModel dipakai tanpa GameViewModel
+    private final TimingWheel scheduler;
+    private final boolean ownsScheduler;
+    private TimingWheel.Timeout extraSpawnTimeout;
+    // Pencari posisi spawn berjarak minimum di dua jalur sungai
+    private final FishSpawner spawner;
+    // Peluang spawn ikan tambahan per tick (2 dari 250, sekitar satu ikan per 2 detik)
+    private static final double EXTRA_SPAWN_CHANCE = 2.0 / 250;
     // Lebar panel game untuk boundary checking
     private static final int PANEL_WIDTH = 800;
+    // Jalur spawn (posisi kiri-atas): atas di kanan layar 850-1150 / 15-135,
+    // bawah di kiri layar -350 sampai -50 / 465-585
+    private static final int[] TOP_LANE = { PANEL_WIDTH + 50, 15, 300, 120 };
+    private static final int[] BOTTOM_LANE = { -349, 465, 300, 120 };
+    // Jarak minimum antar pusat ikan saat spawn
+    private static final int SPAWN_MIN_DISTANCE = 120;
+    private static final int FISH_WIDTH = 60;
+    private static final int FISH_HEIGHT = 50;
+
+    // Metrics untuk dipantau lewat JMX
+    private static final Metrics.Counter TICKS = Metrics.counter("ticks.ikan");
+    private static final Metrics.Counter FISH_SPAWNED = Metrics.counter("fish.spawned");
+    private static final Metrics.Counter FISH_DESPAWNED = Metrics.counter("fish.despawned");
+    private static final Metrics.Counter SPAWN_REJECTED = Metrics.counter("fish.spawn_rejected");
+    private static final Metrics.Histogram COLLISION_CHECKS = Metrics.histogram("fish.collision_checks_per_tick");
 
     /**
      * Constructor untuk inisialisasi IkanViewModel
      * Mengatur semua komponen yang diperlukan untuk sistem ikan
      */
     public IkanViewModel() {
+        this(new GameRandom(GameRandom.defaultSeed()).stream("ikan"));
+    }
+
+    // Constructor dengan generator random yang di-inject (deterministik untuk seed yang sama)
+    // TimingWheel milik sendiri dimajukan setiap actionPerformed()
+    public IkanViewModel(GameRandom random) {
+        this(random, new TimingWheel(), true);
+    }
+
+    // Constructor untuk GameViewModel: spawn tambahan dijadwalkan di TimingWheel game
+    public IkanViewModel(GameRandom random, TimingWheel scheduler) {
+        this(random, scheduler, false);
+    }
+
+    private IkanViewModel(GameRandom random, TimingWheel scheduler, boolean ownsScheduler) {
         // Membuat list kosong untuk menyimpan ikan-ikan
         this.listIkan = new ArrayList<>();
         // Setup property change support untuk notifikasi ke View
         this.propertyChangeSupport = new PropertyChangeSupport(this);
-        // Inisialisasi random generator untuk spawn dan movement
-        this.random = new Random();
-        // Setup timer dengan frame rate 60 FPS untuk smooth movement
-        this.movementTimer = new Timer(1000 / 60, this);
+        // Satu stream per subsistem: spawn dan collision avoidance
+        this.random = random.stream("spawn");
+        this.avoidRandom = random.stream("avoid");
+        this.extraSpawnRandom = random.stream("extra_spawn");
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        this.spawner = new FishSpawner(this.random, FISH_WIDTH, FISH_HEIGHT, SPAWN_MIN_DISTANCE,
+                TOP_LANE, BOTTOM_LANE);
 
         // Spawn ikan-ikan awal ketika game dimulai
         spawnInitialFish();
-        // Mulai timer untuk pergerakan ikan otomatis
-        startMovement();
+        scheduleExtraSpawn(nextExtraSpawnDelay());
+        // Pergerakan dijalankan GameViewModel setiap langkah GameClock lewat actionPerformed()
     }// Method untuk membuat ikan baru secara random
 
     public void spawnNewFish() {
-        // Generate tipe ikan secara random (0=ikan1, 1=ikan2, 2=ikan3)
-        int fishType = random.nextInt(3);
+        spawnFishBatch(1);
+    }
 
-        // Variabel untuk posisi spawn ikan (inisialisasi dengan nilai default)
-        int fishX = 0, fishY = 0;
-        boolean isTopZone = false;
-        int attempts = 0;
-        int maxAttempts = 15;
-
-        // Loop untuk mencari posisi spawn yang tidak terlalu dekat dengan ikan lain
-        do {
-            if (random.nextBoolean()) {
-                // ZONA ATAS (0-150) - Ikan bergerak dari kanan ke kiri
-                fishY = random.nextInt(120) + 15; // Posisi Y random dalam zona atas: 15-135
-                isTopZone = true;
-                // Spawn dari sebelah kanan layar
-                fishX = PANEL_WIDTH + random.nextInt(300) + 50; // Area spawn: 850-1150
-            } else {
-                // ZONA BAWAH (450-600) - Ikan bergerak dari kiri ke kanan
-                fishY = random.nextInt(120) + 465; // Posisi Y random dalam zona bawah: 465-585
-                isTopZone = false;
-                // Spawn dari sebelah kiri layar
-                fishX = -random.nextInt(300) - 50; // Area spawn: -350 sampai -50
+    // Spawn sampai count ikan dengan satu kali pengisian grid spawn, berhenti jika jalur penuh
+    private void spawnFishBatch(int count) {
+        spawner.clear();
+        for (Ikan existingFish : listIkan) {
+            // Ikan yang sedang dalam interaksi (ditangkap, dibawa, dll) tidak menghalangi spawn
+            if (existingFish.isAvailableForCatch()) {
+                spawner.add(existingFish.getPosX(), existingFish.getPosY());
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (!spawnFish()) {
+                break;
             }
-            attempts++;
-        } while (isTooCloseToOtherFish(fishX, fishY, 60, 50) && attempts < maxAttempts);
+        }
+    }
 
-        // Jika setelah 15 percobaan masih terlalu dekat, skip spawn untuk sementara
-        if (attempts >= maxAttempts) {
-            return;
+    // Spawn satu ikan di posisi dari FishSpawner, return false jika kedua jalur penuh
+    private boolean spawnFish() {
+        // Generate tipe ikan secara random (0=ikan1, 1=ikan2, 2=ikan3)
+        int fishType = random.nextInt(3);
+
+        // Jalur atas (ikan bergerak dari kanan ke kiri) atau bawah (dari kiri ke kanan);
+        // jika jalur pilihan penuh, spawner mencoba jalur lainnya
+        if (!spawner.spawn(random.nextBoolean() ? 0 : 1)) {
+            SPAWN_REJECTED.inc();
+            return false;
         }
+        int fishX = spawner.getSpawnX();
+        int fishY = spawner.getSpawnY();
+        boolean isTopZone = fishY < TOP_LANE[1] + TOP_LANE[3];
 
         // Membuat objek ikan baru dengan informasi tipe (View akan load gambar yang
         // sesuai)
-        Ikan newFish = new Ikan(fishX, fishY, 60, 50, fishType);
+        Ikan newFish = new Ikan(fishX, fishY, FISH_WIDTH, FISH_HEIGHT, fishType);
 
         // Mengatur arah pergerakan sesuai zona (kecepatan sama untuk semua)
         int baseSpeed = 5; // Kecepatan tetap untuk semua jenis ikan
@@ -107,7 +161,9 @@ public class IkanViewModel implements ActionListener {
 
         // Menambahkan ikan ke list dan memberitahu listener
         listIkan.add(newFish);
+        FISH_SPAWNED.inc();
         firePropertyChange("fishSpawned", null, newFish);
+        return true;
     }
 
     // Method untuk memperbarui posisi semua ikan dalam game
@@ -124,9 +180,7 @@ public class IkanViewModel implements ActionListener {
     private void spawnInitialFish() {
         // Spawn ikan awal dengan jumlah yang lebih moderat
         int initialFishCount = 8 + random.nextInt(3); // 8-10 ikan awal
-        for (int i = 0; i < initialFishCount; i++) {
-            spawnNewFish();
-        }
+        spawnFishBatch(initialFishCount);
     }
 
     // Method untuk mencari ikan yang tersedia di posisi tertentu
@@ -159,6 +213,7 @@ public class IkanViewModel implements ActionListener {
         if (ikan != null && listIkan.contains(ikan)) {
             // Hapus ikan dari list
             listIkan.remove(ikan);
+            FISH_DESPAWNED.inc();
             // Beritahu listener bahwa ikan telah dihapus
             firePropertyChange("fishRemoved", ikan, null);
         }
@@ -247,67 +302,62 @@ public class IkanViewModel implements ActionListener {
         return listIkan;
     }
 
-    // Method untuk menghapus listener yang tidak diperlukan lagi
-    public void removePropertyChangeListener(PropertyChangeListener listener) {
-        propertyChangeSupport.removePropertyChangeListener(listener);
-    } // ===== BAGIAN KONTROL PERGERAKAN IKAN =====
-
-    // Method untuk memulai pergerakan ikan
-    public void startMovement() {
-        // Mulai timer jika belum berjalan
-        if (movementTimer != null && !movementTimer.isRunning()) {
-            movementTimer.start();
-        }
+    // Tulis state untuk GameSnapshot: state RNG, jadwal spawn tambahan, dan semua ikan
+    void writeState(VarintOutput out) {
+        out.writeFixedLong(random.getState());
+        out.writeFixedLong(avoidRandom.getState());
+        out.writeFixedLong(extraSpawnRandom.getState());
+        out.writeVarint(extraSpawnTimeout != null ? extraSpawnTimeout.remainingTicks() : 0);
+        GameSnapshot.writeIkanList(out, listIkan);
     }
 
-    // Method untuk menghentikan pergerakan ikan (saat pause)
-    public void stopMovement() {
-        // Hentikan timer jika sedang berjalan
-        if (movementTimer != null && movementTimer.isRunning()) {
-            movementTimer.stop();
+    // Baca state dari GameSnapshot, urutan sama dengan writeState
+    void readState(VarintInput in) throws IOException {
+        random.setState(in.readFixedLong());
+        avoidRandom.setState(in.readFixedLong());
+        extraSpawnRandom.setState(in.readFixedLong());
+        int extraSpawnDelay = in.readUnsignedInt();
+        if (extraSpawnDelay > 0) {
+            scheduleExtraSpawn(extraSpawnDelay);
+        } else if (extraSpawnTimeout != null) {
+            extraSpawnTimeout.cancel();
         }
+        listIkan.clear();
+        listIkan.addAll(GameSnapshot.readIkanList(in));
+        firePropertyChange("fishUpdated", null, null);
     }
 
-    // Method untuk mengecek apakah posisi spawn terlalu dekat dengan ikan lain
-    private boolean isTooCloseToOtherFish(int newX, int newY, int newWidth, int newHeight) {
-        // Jarak minimum antar ikan untuk menghindari spawn yang terlalu berdekatan
-        final int MIN_DISTANCE = 120;
-
-        // Periksa jarak dengan semua ikan yang sudah ada
-        for (Ikan existingFish : listIkan) {
-            // Skip jika ikan sedang dalam interaksi (ditangkap, dibawa, dll)
-            if (existingFish.isBeingCaught() || existingFish.isBeingCarried() ||
-                    existingFish.isBeingDelivered()) {
-                continue;
-            }
-
-            // Hitung jarak antara pusat ikan yang sudah ada dengan posisi baru
-            int existingCenterX = existingFish.getPosX() + existingFish.getWidth() / 2;
-            int existingCenterY = existingFish.getPosY() + existingFish.getHeight() / 2;
-            int newCenterX = newX + newWidth / 2;
-            int newCenterY = newY + newHeight / 2;
-            double distance = calculateDistance(existingCenterX, existingCenterY, newCenterX, newCenterY);
+    // Method untuk menghapus listener yang tidak diperlukan lagi
+    public void removePropertyChangeListener(PropertyChangeListener listener) {
+        propertyChangeSupport.removePropertyChangeListener(listener);
+    }
 
-            // Jika jarak kurang dari minimum, berarti terlalu dekat
-            if (distance < MIN_DISTANCE) {
-                return true;
-            }
+    // Melepas semua listener, ViewModel tidak dipakai lagi setelah ini
+    @Override
+    public void dispose() {
+        for (PropertyChangeListener listener : propertyChangeSupport.getPropertyChangeListeners()) {
+            propertyChangeSupport.removePropertyChangeListener(listener);
         }
-        // Posisi aman, tidak terlalu dekat dengan ikan lain
-        return false;
     }
 
-    // Implementasi ActionListener untuk pergerakan ikan otomatis
+    // Satu langkah pergerakan ikan (dipanggil GameViewModel setiap langkah GameClock)
     @Override
     public void actionPerformed(ActionEvent e) {
         // Update pergerakan semua ikan setiap frame
+        FrameProfiler.begin(FrameProfiler.Section.IKAN_TICK);
+        TICKS.inc();
         updateAllFishMovement();
+        FrameProfiler.end(FrameProfiler.Section.IKAN_TICK);
         // updateAttractedFish(); // Disabled - sekarang tangan yang membawa ikan
     } // Method untuk memperbarui pergerakan semua ikan
+    // (package-private agar bisa diukur oleh benchmark JMH)
 
-    private void updateAllFishMovement() {
+    void updateAllFishMovement() {
+        JfrEvents.FishMovement event = new JfrEvents.FishMovement();
+        event.begin();
         // List untuk menyimpan ikan yang perlu dihapus (keluar dari layar)
         List<Ikan> fishToRemove = new ArrayList<>();
+        int collisionChecks = 0; // Jumlah cek jarak antar ikan di tick ini
 
         // Iterasi semua ikan untuk update posisi mereka
         for (Ikan ikan : listIkan) {
@@ -331,6 +381,7 @@ public class IkanViewModel implements ActionListener {
                         !otherFish.isBeingCarried() && !otherFish.isBeingDelivered()) {
 
                     // Hitung jarak antara pusat kedua ikan
+                    collisionChecks++;
                     double distance = calculateDistance(
                             newX + ikan.getWidth() / 2, newY + ikan.getHeight() / 2,
                             otherFish.getPosX() + otherFish.getWidth() / 2,
@@ -372,27 +423,60 @@ public class IkanViewModel implements ActionListener {
         for (Ikan fish : fishToRemove) {
             listIkan.remove(fish);
         }
-
-        // Spawn ikan baru jika diperlukan (maintain jumlah optimal)
-        while (listIkan.size() < 6) { // Pertahankan minimal 6 ikan
-            spawnNewFish();
+        FISH_DESPAWNED.add(fishToRemove.size());
+        COLLISION_CHECKS.record(collisionChecks);
+        int sizeAfterDespawn = listIkan.size();
+
+        // Spawn ikan baru jika diperlukan (pertahankan minimal 6 ikan). Satu batch
+        // berhenti saat jalur spawn penuh; kekurangan ikan dicoba lagi di frame berikutnya
+        if (listIkan.size() < 6) {
+            spawnFishBatch(6 - listIkan.size());
         }
 
-        // Spawn ikan tambahan secara random untuk variasi
-        if (random.nextInt(250) < 2) { // Reduced spawn rate (0.8% chance per frame)
-            if (listIkan.size() < 9) { // Maksimal 9 ikan (dikurangi dari 10)
-                spawnNewFish();
-            }
+        // Spawn ikan tambahan untuk variasi berjalan lewat TimingWheel (spawnExtraFish)
+        if (ownsScheduler) {
+            scheduler.advance();
         }
 
         // Kirim notifikasi ke UI bahwa ada pergerakan ikan
         firePropertyChange("fishMovement", null, System.currentTimeMillis());
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.fishCount = listIkan.size();
+            event.collisionChecks = collisionChecks;
+            event.despawned = fishToRemove.size();
+            event.spawned = listIkan.size() - sizeAfterDespawn;
+            event.commit();
+        }
     } // Method untuk menghitung jarak antara dua titik menggunakan rumus Euclidean
 
     private double calculateDistance(int x1, int y1, int x2, int y2) {
         return Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
     }
 
+    // Spawn ikan tambahan (event TimingWheel), lalu jadwalkan yang berikutnya
+    private void spawnExtraFish() {
+        if (listIkan.size() < 9) { // Maksimal 9 ikan (dikurangi dari 10)
+            spawnNewFish();
+        }
+        scheduleExtraSpawn(nextExtraSpawnDelay());
+    }
+
+    private void scheduleExtraSpawn(int delay) {
+        if (extraSpawnTimeout != null) {
+            extraSpawnTimeout.cancel();
+        }
+        extraSpawnTimeout = scheduler.schedule(delay, this::spawnExtraFish);
+    }
+
+    // Jeda acak sampai spawn tambahan berikutnya, sebaran geometrik: sama dengan
+    // undian EXTRA_SPAWN_CHANCE setiap tick, tetapi hanya satu undian per spawn
+    private int nextExtraSpawnDelay() {
+        double u = 1.0 - extraSpawnRandom.nextDouble(); // (0, 1]
+        return 1 + (int) Math.min(Integer.MAX_VALUE - 1, Math.log(u) / Math.log(1.0 - EXTRA_SPAWN_CHANCE));
+    }
+
     // Method untuk menghindari tabrakan dengan ikan lain
     private void avoidCollision(Ikan ikan, Ikan closestFish) {
         if (closestFish == null)
@@ -427,7 +511,7 @@ public class IkanViewModel implements ActionListener {
         }
 
         // Tambahkan penyesuaian horizontal kecil untuk menghindari stuck
-        int horizontalAdjust = random.nextInt(10) - 5; // Range -5 sampai +5
+        int horizontalAdjust = avoidRandom.nextInt(10) - 5; // Range -5 sampai +5
         ikan.setPosX(fishX + horizontalAdjust);
     }
 
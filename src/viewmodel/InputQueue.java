@@ -0,0 +1,188 @@
+package viewmodel;
+
+import util.Metrics;
+import java.awt.event.KeyEvent;
+
+/**
+ * InputQueue - Antrian input mentah yang diproses sekali per langkah simulasi
+ *
+ * View hanya mencatat event (tanpa menyentuh state game): klik dan lepas
+ * mouse masuk antrian berurutan, gerakan mouse digabung menjadi posisi
+ * terakhir per langkah, dan tombol arah disimpan sebagai bitmask sehingga
+ * beberapa tombol bisa ditekan bersamaan (gerak diagonal). GameViewModel
+ * membaca antrian ini di awal setiap langkah simulasi.
+ *
+ * Gerakan yang tertunda dimasukkan ke antrian sebelum klik/lepas berikutnya,
+ * jadi urutan gerak-klik tetap sama seperti urutan event aslinya. Tidak
+ * thread-safe: pencatatan dan pemrosesan sama-sama terjadi di EDT (atau di
+ * thread simulasi pada mode tick()).
+ */
+public class InputQueue {
+    // Bit tombol yang sedang ditekan
+    public static final int KEY_UP = 1;
+    public static final int KEY_DOWN = 1 << 1;
+    public static final int KEY_LEFT = 1 << 2;
+    public static final int KEY_RIGHT = 1 << 3;
+    public static final int KEY_PAUSE = 1 << 4;
+
+    // Jenis event di antrian
+    public static final int MOUSE_PRESSED = 1;
+    public static final int MOUSE_RELEASED = 2;
+    public static final int MOUSE_MOVED = 3;
+    public static final int PAUSE_TOGGLED = 4;
+
+    private static final int CAPACITY = 64; // Event diskret per langkah, jauh di atas kebutuhan normal
+
+    private static final Metrics.Counter EVENTS = Metrics.counter("input.events");
+    private static final Metrics.Counter MOTION_COALESCED = Metrics.counter("input.motion_coalesced");
+    private static final Metrics.Counter DROPPED = Metrics.counter("input.dropped");
+
+    // Ring buffer event diskret
+    private final int[] types = new int[CAPACITY];
+    private final int[] xs = new int[CAPACITY];
+    private final int[] ys = new int[CAPACITY];
+    private int head = 0;
+    private int size = 0;
+
+    // Event yang sedang dibaca lewat next()
+    private int currentType;
+    private int currentX;
+    private int currentY;
+
+    // Gerakan mouse terakhir yang belum diproses
+    private boolean motionPending = false;
+    private int motionX;
+    private int motionY;
+
+    private int keys = 0;
+
+    // Method pencatatan dari View
+
+    public void keyPressed(int keyCode) {
+        EVENTS.inc();
+        int bit = bitOf(keyCode);
+        if (bit == KEY_PAUSE && (keys & KEY_PAUSE) == 0) {
+            push(PAUSE_TOGGLED, 0, 0); // Hanya sekali per tekan, auto-repeat diabaikan
+        }
+        keys |= bit;
+    }
+
+    public void keyReleased(int keyCode) {
+        EVENTS.inc();
+        keys &= ~bitOf(keyCode);
+    }
+
+    public void mousePressed(int x, int y) {
+        EVENTS.inc();
+        flushMotion();
+        push(MOUSE_PRESSED, x, y);
+    }
+
+    public void mouseReleased() {
+        EVENTS.inc();
+        flushMotion();
+        push(MOUSE_RELEASED, 0, 0);
+    }
+
+    public void mouseMoved(int x, int y) {
+        EVENTS.inc();
+        if (motionPending) {
+            MOTION_COALESCED.inc();
+        }
+        motionPending = true;
+        motionX = x;
+        motionY = y;
+    }
+
+    // Method pembacaan oleh GameViewModel
+
+    // Maju ke event berikutnya; gerakan yang tertunda menjadi event terakhir
+    public boolean next() {
+        if (size == 0) {
+            if (!motionPending) {
+                return false;
+            }
+            motionPending = false;
+            currentType = MOUSE_MOVED;
+            currentX = motionX;
+            currentY = motionY;
+            return true;
+        }
+        currentType = types[head];
+        currentX = xs[head];
+        currentY = ys[head];
+        head = (head + 1) % CAPACITY;
+        size--;
+        return true;
+    }
+
+    public int type() {
+        return currentType;
+    }
+
+    public int x() {
+        return currentX;
+    }
+
+    public int y() {
+        return currentY;
+    }
+
+    // Bitmask KEY_* untuk tombol yang sedang ditekan
+    public int getKeys() {
+        return keys;
+    }
+
+    // Set tombol yang sedang ditekan tanpa event (dipakai saat memuat snapshot)
+    void restoreKeys(int keys) {
+        this.keys = keys;
+    }
+
+    // Buang semua event dan lepas semua tombol (misalnya saat game di-reset)
+    public void clear() {
+        head = 0;
+        size = 0;
+        motionPending = false;
+        keys = 0;
+    }
+
+    private void flushMotion() {
+        if (motionPending) {
+            motionPending = false;
+            push(MOUSE_MOVED, motionX, motionY);
+        }
+    }
+
+    private void push(int type, int x, int y) {
+        if (size == CAPACITY) {
+            DROPPED.inc();
+            return;
+        }
+        int index = (head + size) % CAPACITY;
+        types[index] = type;
+        xs[index] = x;
+        ys[index] = y;
+        size++;
+    }
+
+    private static int bitOf(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_W:
+            case KeyEvent.VK_UP:
+                return KEY_UP;
+            case KeyEvent.VK_S:
+            case KeyEvent.VK_DOWN:
+                return KEY_DOWN;
+            case KeyEvent.VK_A:
+            case KeyEvent.VK_LEFT:
+                return KEY_LEFT;
+            case KeyEvent.VK_D:
+            case KeyEvent.VK_RIGHT:
+                return KEY_RIGHT;
+            case KeyEvent.VK_SPACE:
+                return KEY_PAUSE;
+            default:
+                return 0;
+        }
+    }
+}
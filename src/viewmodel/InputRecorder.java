@@ -0,0 +1,147 @@
+package viewmodel;
+
+import util.Log;
+import util.VarintOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * InputRecorder - Perekam input mentah satu game ke file replay biner
+ *
+ * Mencatat seed, ukuran panel, dan setiap panggilan handle* di GameViewModel
+ * beserta nomor langkah simulasi saat event itu diterapkan. Dengan seed yang
+ * sama, memutar ulang event ini di mode tick() menghasilkan game yang sama
+ * (lihat InputReplay). Di akhir game dicatat jumlah langkah, skor, dan jumlah
+ * ikan untuk verifikasi saat replay.
+ *
+ * Format (semua angka varint LEB128 kecuali seed):
+ *   "TMDR", versi, seed (8 byte big-endian), lebar, tinggi
+ *   per event: (selisih langkah << 3 | op), lalu argumen op
+ *     KEY_DOWN/KEY_UP: keyCode
+ *     MOUSE_PRESS/MOUSE_MOVE: dx, dy zigzag terhadap posisi mouse sebelumnya
+ *     MOUSE_RELEASE: -
+ *     END: langkah, skor, ikan
+ * Gerakan mouse kecil dan event beruntun di langkah yang sama umumnya hanya
+ * butuh 3 byte. Buffer ada di memori dan ditulis sekali saat game selesai.
+ *
+ * Aktif jika -Dtmd.replay.dir di-set: setiap game disimpan sebagai
+ * <dir>/tmd-<waktu>-<seed>.tmdr. Tidak thread-safe, dipanggil dari thread
+ * yang sama dengan handle* (EDT atau thread simulasi).
+ */
+public class InputRecorder {
+    private static final Log LOG = Log.get(InputRecorder.class);
+
+    public static final String DIR_PROPERTY = "tmd.replay.dir";
+
+    static final byte[] MAGIC = { 'T', 'M', 'D', 'R' };
+    // Naik jika urutan simulasi berubah; rekaman versi lama tidak akan lagi sama
+    // (2: spawn ikan tambahan dijadwalkan lewat TimingWheel, 3: posisi spawn dari FishSpawner)
+    static final int VERSION = 3;
+
+    // Op event, 3 bit terbawah dari header event
+    static final int OP_END = 0;
+    static final int OP_KEY_DOWN = 1;
+    static final int OP_KEY_UP = 2;
+    static final int OP_MOUSE_PRESS = 3;
+    static final int OP_MOUSE_RELEASE = 4;
+    static final int OP_MOUSE_MOVE = 5;
+    static final int OP_BITS = 3;
+
+    private final long seed;
+    private final VarintOutput out = new VarintOutput(4096);
+    private long lastStep = 0;
+    private int lastX = 0;
+    private int lastY = 0;
+    private boolean finished = false;
+
+    public InputRecorder(long seed, int width, int height) {
+        this.seed = seed;
+        out.writeBytes(MAGIC);
+        out.writeVarint(VERSION);
+        out.writeFixedLong(seed);
+        out.writeVarint(width);
+        out.writeVarint(height);
+    }
+
+    // Recorder baru jika perekaman diaktifkan lewat -Dtmd.replay.dir, selain itu null
+    public static InputRecorder createIfEnabled(long seed, int width, int height) {
+        return System.getProperty(DIR_PROPERTY) != null ? new InputRecorder(seed, width, height) : null;
+    }
+
+    public void keyPressed(long step, int keyCode) {
+        if (writeHeader(step, OP_KEY_DOWN)) {
+            out.writeVarint(keyCode);
+        }
+    }
+
+    public void keyReleased(long step, int keyCode) {
+        if (writeHeader(step, OP_KEY_UP)) {
+            out.writeVarint(keyCode);
+        }
+    }
+
+    public void mousePressed(long step, int x, int y) {
+        if (writeHeader(step, OP_MOUSE_PRESS)) {
+            writePosition(x, y);
+        }
+    }
+
+    public void mouseReleased(long step) {
+        writeHeader(step, OP_MOUSE_RELEASE);
+    }
+
+    public void mouseMoved(long step, int x, int y) {
+        if (writeHeader(step, OP_MOUSE_MOVE)) {
+            writePosition(x, y);
+        }
+    }
+
+    // Tutup rekaman dengan hasil akhir game; event berikutnya diabaikan
+    public void finish(long steps, int score, int fishCount) {
+        if (writeHeader(steps, OP_END)) {
+            out.writeVarint(steps);
+            out.writeVarint(score);
+            out.writeVarint(fishCount);
+            finished = true;
+        }
+    }
+
+    public byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    // Simpan ke direktori -Dtmd.replay.dir, return path file atau null jika gagal
+    public Path save() {
+        Path dir = Paths.get(System.getProperty(DIR_PROPERTY, "replays"));
+        Path file = dir.resolve(String.format("tmd-%d-%016x.tmdr", System.currentTimeMillis(), seed));
+        try {
+            Files.createDirectories(dir);
+            Files.write(file, toByteArray());
+            LOG.info("Replay saved: {} ({} bytes)", file, out.size());
+            return file;
+        } catch (IOException e) {
+            LOG.warn("Cannot save replay {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    // Tulis header event, return false jika rekaman sudah ditutup
+    private boolean writeHeader(long step, int op) {
+        if (finished) {
+            return false;
+        }
+        long delta = Math.max(0, step - lastStep);
+        lastStep = step;
+        out.writeVarint(delta << OP_BITS | op);
+        return true;
+    }
+
+    private void writePosition(int x, int y) {
+        out.writeZigzag(x - lastX);
+        out.writeZigzag(y - lastY);
+        lastX = x;
+        lastY = y;
+    }
+}
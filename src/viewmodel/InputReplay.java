@@ -0,0 +1,270 @@
+package viewmodel;
+
+import model.DatabaseManager;
+import util.VarintInput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * InputReplay - Pemutar ulang file replay dari InputRecorder
+ *
+ * Membuat GameViewModel headless (mode tick()) dengan seed dari file, lalu
+ * sebelum setiap langkah memanggil handle* untuk event yang tercatat di
+ * langkah itu dan memajukan game secepat mungkin lewat SteppedClock, tanpa
+ * sleep. Di akhir, jumlah langkah, skor, dan jumlah ikan dibandingkan dengan
+ * hasil yang tercatat di file.
+ *
+ * Semua logika game berjalan per langkah GameClock, jadi rekaman dari game
+ * realtime (dengan skala clock berapa pun) dan dari simulasi headless sama-sama
+ * diputar ulang persis.
+ *
+ * Dengan --snapshot-at=N, game di langkah N disimpan ke GameSnapshot, dibuang,
+ * lalu dilanjutkan dari snapshot di GameViewModel baru; hasil akhir yang tetap
+ * MATCH berarti snapshot memulihkan seluruh state game.
+ *
+ * Cara pakai: InputReplay <file.tmdr>... [--repeat=1] [--snapshot-at=N]
+ * Database memakai file sementara kecuali -Dtmd.db.url sudah di-set.
+ */
+public class InputReplay {
+    private final VarintInput in;
+    private final long seed;
+    private final int width;
+    private final int height;
+    private final int eventsOffset;
+
+    // Hasil yang tercatat di akhir rekaman, -1 jika rekaman tidak ditutup
+    private long expectedSteps = -1;
+    private int expectedScore = -1;
+    private int expectedFishCount = -1;
+
+    // Posisi mouse terakhir saat replay
+    private int mouseX;
+    private int mouseY;
+    // Langkah absolut dari header terakhir yang dibaca readHeader
+    private long lastHeaderStep;
+
+    private InputReplay(byte[] data) throws IOException {
+        in = new VarintInput(data);
+        if (!in.readMagic(InputRecorder.MAGIC)) {
+            throw new IOException("Not a replay file");
+        }
+        int version = in.readUnsignedInt();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException("Unsupported replay version: " + version);
+        }
+        seed = in.readFixedLong();
+        width = in.readUnsignedInt();
+        height = in.readUnsignedInt();
+        eventsOffset = in.position();
+        readExpectedResult();
+    }
+
+    public static InputReplay load(Path file) throws IOException {
+        return parse(Files.readAllBytes(file));
+    }
+
+    public static InputReplay parse(byte[] data) throws IOException {
+        return new InputReplay(data);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getExpectedSteps() {
+        return expectedSteps;
+    }
+
+    public int getExpectedScore() {
+        return expectedScore;
+    }
+
+    public int getExpectedFishCount() {
+        return expectedFishCount;
+    }
+
+    // Mainkan seluruh rekaman di GameViewModel headless baru
+    public Result play() throws IOException {
+        return play(-1);
+    }
+
+    // Mainkan rekaman; di langkah snapshotAt (jika >= 0) game dilanjutkan dari snapshot
+    public Result play(long snapshotAt) throws IOException {
+        GameViewModel game = new GameViewModel(false, seed);
+        game.setPanelDimensions(width, height);
+        game.startGame();
+
+        in.position(eventsOffset);
+        mouseX = 0;
+        mouseY = 0;
+        long step = 0;
+        int snapshotBytes = 0;
+        int nextOp = readHeader(0);
+        long nextEventStep = lastHeaderStep;
+
+        long start = System.nanoTime();
+        while (game.isGameRunning()) {
+            // Snapshot di antara langkah, sebelum event langkah ini masuk antrian
+            if (step == snapshotAt) {
+                byte[] snapshot = GameSnapshot.capture(game);
+                snapshotBytes = snapshot.length;
+                game.dispose();
+                game = GameSnapshot.load(snapshot, false);
+            }
+            // Semua event yang dicatat sebelum langkah ini diterapkan
+            while (nextOp != InputRecorder.OP_END && nextEventStep <= step) {
+                apply(game, nextOp);
+                nextOp = readHeader(nextEventStep);
+                nextEventStep = lastHeaderStep;
+            }
+            game.tick();
+            step++;
+        }
+        long nanos = System.nanoTime() - start;
+
+        Result result = new Result(step, game.getScore(), game.getFishCount(), nanos, snapshotBytes);
+        game.dispose();
+        return result;
+    }
+
+    private int readHeader(long previousStep) throws IOException {
+        if (!in.hasRemaining()) {
+            lastHeaderStep = Long.MAX_VALUE;
+            return InputRecorder.OP_END;
+        }
+        long header = in.readVarint();
+        lastHeaderStep = previousStep + (header >>> InputRecorder.OP_BITS);
+        return (int) (header & ((1 << InputRecorder.OP_BITS) - 1));
+    }
+
+    private void apply(GameViewModel game, int op) throws IOException {
+        switch (op) {
+            case InputRecorder.OP_KEY_DOWN:
+                game.handleKeyPressed(in.readUnsignedInt());
+                break;
+            case InputRecorder.OP_KEY_UP:
+                game.handleKeyReleased(in.readUnsignedInt());
+                break;
+            case InputRecorder.OP_MOUSE_PRESS:
+                readPosition();
+                game.handleMousePressed(mouseX, mouseY);
+                break;
+            case InputRecorder.OP_MOUSE_RELEASE:
+                game.handleMouseReleased();
+                break;
+            case InputRecorder.OP_MOUSE_MOVE:
+                readPosition();
+                game.handleMouseMoved(mouseX, mouseY);
+                break;
+            default:
+                throw new IOException("Unknown replay op: " + op);
+        }
+    }
+
+    // Lewati semua event untuk membaca hasil akhir di record END
+    private void readExpectedResult() throws IOException {
+        long step = 0;
+        while (in.hasRemaining()) {
+            int op = readHeader(step);
+            step = lastHeaderStep;
+            if (op == InputRecorder.OP_END) {
+                expectedSteps = in.readVarint();
+                expectedScore = in.readUnsignedInt();
+                expectedFishCount = in.readUnsignedInt();
+                return;
+            }
+            switch (op) {
+                case InputRecorder.OP_KEY_DOWN:
+                case InputRecorder.OP_KEY_UP:
+                    in.readVarint();
+                    break;
+                case InputRecorder.OP_MOUSE_PRESS:
+                case InputRecorder.OP_MOUSE_MOVE:
+                    in.readVarint();
+                    in.readVarint();
+                    break;
+                case InputRecorder.OP_MOUSE_RELEASE:
+                    break;
+                default:
+                    throw new IOException("Unknown replay op: " + op);
+            }
+        }
+    }
+
+    private void readPosition() throws IOException {
+        mouseX += in.readZigzag();
+        mouseY += in.readZigzag();
+    }
+
+    // Hasil satu replay
+    public static final class Result {
+        public final long steps;
+        public final int score;
+        public final int fishCount;
+        public final long nanos;
+        public final int snapshotBytes; // Ukuran snapshot jika --snapshot-at dipakai, selain itu 0
+
+        Result(long steps, int score, int fishCount, long nanos, int snapshotBytes) {
+            this.steps = steps;
+            this.score = score;
+            this.fishCount = fishCount;
+            this.nanos = nanos;
+            this.snapshotBytes = snapshotBytes;
+        }
+
+        public double ticksPerSecond() {
+            return steps / Math.max(1e-9, nanos / 1e9);
+        }
+    }
+
+    // Cocok jika skor dan jumlah ikan sama dengan yang tercatat
+    public boolean matches(Result result) {
+        return result.score == expectedScore && result.fishCount == expectedFishCount;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int repeat = 1;
+        long snapshotAt = -1;
+        java.util.List<Path> files = new java.util.ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--repeat=")) {
+                repeat = Integer.parseInt(arg.substring(9));
+            } else if (arg.startsWith("--snapshot-at=")) {
+                snapshotAt = Long.parseLong(arg.substring(14));
+            } else {
+                files.add(Paths.get(arg));
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("Usage: InputReplay <file.tmdr>... [--repeat=1] [--snapshot-at=N]");
+            System.exit(2);
+        }
+
+        if (System.getProperty(DatabaseManager.DB_URL_PROPERTY) == null) {
+            Path db = Files.createTempFile("tmd-replay-", ".db");
+            db.toFile().deleteOnExit();
+            System.setProperty(DatabaseManager.DB_URL_PROPERTY, "jdbc:sqlite:" + db);
+        }
+
+        boolean allMatch = true;
+        for (Path file : files) {
+            InputReplay replay = load(file);
+            Result last = null;
+            double bestTicksPerSecond = 0;
+            for (int i = 0; i < repeat; i++) {
+                last = replay.play(snapshotAt);
+                bestTicksPerSecond = Math.max(bestTicksPerSecond, last.ticksPerSecond());
+            }
+            boolean match = replay.matches(last);
+            allMatch &= match;
+            System.out.println(String.format("%s seed=%d steps=%d/%d score=%d/%d fish=%d/%d ticks/sec=%.0f %s%s",
+                    file.getFileName(), replay.getSeed(), last.steps, replay.getExpectedSteps(),
+                    last.score, replay.getExpectedScore(), last.fishCount, replay.getExpectedFishCount(),
+                    bestTicksPerSecond, match ? "MATCH" : "MISMATCH",
+                    last.snapshotBytes > 0 ? " snapshot=" + last.snapshotBytes + "B" : ""));
+        }
+        System.exit(allMatch ? 0 : 1);
+    }
+}
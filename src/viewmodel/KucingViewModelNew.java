@@ -2,18 +2,26 @@ package viewmodel;
 
 // Import semua class yang diperlukan untuk viewmodel kucing
 import model.Kucing;
-import javax.swing.ImageIcon;
-import javax.swing.Timer;
+import util.AssetManager;
+import util.Disposable;
+import util.FrameProfiler;
+import util.GameRandom;
+import util.Log;
+import util.Metrics;
+import util.StartupTrace;
+import util.TimingWheel;
+import util.VarintInput;
+import util.VarintOutput;
 import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.io.IOException;
 import model.Ikan;
 import model.TempatMakan;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * KucingViewModelNew - ViewModel Unified untuk Kucing dengan Logika Game Lengkap
@@ -26,7 +34,7 @@ import java.util.Random;
  *    - Spawn kucing di zona hijau (area permainan) dengan posisi awal yang aman
  *    - Buat tempat makan di sisi kanan zona hijau sebagai target delivery
  *    - Spawn ikan-ikan awal (10-20 ikan) secara random di zona hijau
- *    - Setup timer animasi 60 FPS untuk smooth gameplay
+ *    - Update digerakkan GameViewModel setiap langkah GameClock (60 per detik game)
  * 
  * 2. KONTROL KUCING:
  *    - Player menggerakkan kucing dengan WASD/Arrow keys di zona hijau saja
@@ -60,24 +68,22 @@ import java.util.Random;
  *    - Jumlah ikan di game selalu dijaga antara 10-20 ikan
  * 
  * 7. GAME LOOP CONTINUOUS:
- *    - Game berjalan terus dengan timer 60 FPS
+ *    - Game berjalan terus mengikuti langkah GameClock
  *    - Spawn ikan baru setiap 1 detik jika jumlah ikan < minimum
  *    - Update animasi tangan, pergerakan kucing, dan collision detection
  *    - Real-time property change notification ke UI layer
  * 
  */
-public class KucingViewModelNew implements ActionListener { // Konstanta untuk zona kucing - ZONA HIJAU (area permainan kucing)
+public class KucingViewModelNew implements ActionListener, Disposable { // Konstanta untuk zona kucing - ZONA HIJAU (area permainan kucing)
     private static final int ZONE_TOP_LIMIT = 200; // Batas atas zona hijau - sedikit di bawah jembatan
     private static final int ZONE_BOTTOM_LIMIT = 360; // Batas bawah zona hijau - sebelum area air
+    private static final Metrics.Counter TICKS = Metrics.counter("ticks.kucing"); // Jumlah actionPerformed (game loop + animasi)
+    private static final Log LOG = Log.get(KucingViewModelNew.class);
 
     // Object model kucing utama
     private Kucing kucing;
     // Support untuk property change listener (observer pattern)
     private final PropertyChangeSupport support = new PropertyChangeSupport(this);
-    // Timer untuk animasi kucing
-    private Timer animationTimer;
-    // Timer untuk game loop utama
-    private Timer gameLoopTimer;
 
     // Gambar-gambar untuk berbagai arah dan state kucing
     private Image catImageRight; // Gambar kucing menghadap kanan
@@ -97,11 +103,16 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
     private List<Ikan> listIkan; // Daftar semua ikan di game
     private Image[] fishImages; // Array gambar-gambar ikan
     private Image tempatMakanImage; // Gambar tempat makan
-    private Random random; // Generator angka random
+    private final GameRandom random; // Generator angka random untuk spawn ikan
     private final int MAX_FISH = 20; // Maksimal jumlah ikan
     private final int MIN_FISH = 10; // Minimal jumlah ikan
-    private int fishSpawnTimer = 0; // Timer untuk spawn ikan baru
-    private final int FISH_SPAWN_INTERVAL = 60; // Interval spawn ikan (60 FPS, jadi 1 detik)
+    private final int FISH_SPAWN_INTERVAL = GameClock.TICKS_PER_SECOND / 2; // Jeda spawn pengisi dalam tick TimingWheel
+    private final TimingWheel scheduler; // Penjadwal spawn pengisi (milik sendiri jika tanpa GameViewModel)
+    private final boolean ownsScheduler;
+    private TimingWheel.Timeout refillTimeout; // Spawn pengisi berikutnya, null jika tidak terjadwal
+    private FishSpawner greenZoneSpawner; // Posisi spawn di zona hijau, dibuat ulang jika ukuran panel berubah
+    private int spawnerPanelWidth;
+    private int spawnerPanelHeight;
     private TempatMakan tempatMakan; // Object tempat makan
     private Ikan carriedFish = null; // Ikan yang sedang dibawa kucing
     private boolean isCarryingFish = false; // Status apakah kucing sedang membawa ikan
@@ -109,45 +120,58 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
 
     // Constructor - inisialisasi semua komponen
     public KucingViewModelNew() {
+        this(new GameRandom(GameRandom.defaultSeed()).stream("kucing"));
+    }
+
+    // Constructor dengan generator random yang di-inject (deterministik untuk seed yang sama)
+    // TimingWheel milik sendiri dimajukan setiap actionPerformed()
+    public KucingViewModelNew(GameRandom random) {
+        this(random, new TimingWheel(), true);
+    }
+
+    // Constructor untuk GameViewModel: spawn pengisi dijadwalkan di TimingWheel game
+    public KucingViewModelNew(GameRandom random, TimingWheel scheduler) {
+        this(random, scheduler, false);
+    }
+
+    private KucingViewModelNew(GameRandom random, TimingWheel scheduler, boolean ownsScheduler) {
+        this.random = random;
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
         loadCatImages(); // Load semua gambar kucing
         initializeKucing(); // Inisialisasi object kucing
-        setupAnimationTimer(); // Setup timer animasi
-        gameLoopTimer = new Timer(1000 / 60, this); // Timer game loop 60 FPS
 
         // Inisialisasi manajemen ikan
         listIkan = new ArrayList<>();
-        random = new Random();
 
         // Spawn ikan awal saat game dimulai
         spawnInitialFish();
     } // Method untuk memuat semua gambar kucing dan asset lainnya
 
     private void loadCatImages() {
+        long traceStart = StartupTrace.start();
         try {
             // Load gambar kucing untuk berbagai arah
-            catImageRight = new ImageIcon(getClass().getResource("/assets/kucingkanan.png")).getImage();
-            catImageLeft = new ImageIcon(getClass().getResource("/assets/kucingkiri.png")).getImage();
-            catImageUp = new ImageIcon(getClass().getResource("/assets/kucingbelakang.png")).getImage();
-            catImageDown = new ImageIcon(getClass().getResource("/assets/kucingdepan.png")).getImage();
-            catImageX = new ImageIcon(getClass().getResource("/assets/kucingambil.png")).getImage();
-            catImageHand = new ImageIcon(getClass().getResource("/assets/tangan.png")).getImage();
+            catImageRight = AssetManager.getInstance().getImage("/assets/kucingkanan.png");
+            catImageLeft = AssetManager.getInstance().getImage("/assets/kucingkiri.png");
+            catImageUp = AssetManager.getInstance().getImage("/assets/kucingbelakang.png");
+            catImageDown = AssetManager.getInstance().getImage("/assets/kucingdepan.png");
+            catImageX = AssetManager.getInstance().getImage("/assets/kucingambil.png");
+            catImageHand = AssetManager.getInstance().getImage("/assets/tangan.png");
 
             // Load gambar-gambar ikan (3 jenis)
             fishImages = new Image[3];
-            fishImages[0] = new ImageIcon(getClass().getResource("/assets/ikan1.png")).getImage();
-            fishImages[1] = new ImageIcon(getClass().getResource("/assets/ikan2.png")).getImage();
-            fishImages[2] = new ImageIcon(getClass().getResource("/assets/ikan3.png")).getImage();
+            fishImages[0] = AssetManager.getInstance().getImage("/assets/ikan1.png");
+            fishImages[1] = AssetManager.getInstance().getImage("/assets/ikan2.png");
+            fishImages[2] = AssetManager.getInstance().getImage("/assets/ikan3.png");
 
             // Load gambar tempat makan
-            tempatMakanImage = new ImageIcon(getClass().getResource("/assets/tempatmakan.png")).getImage();
+            tempatMakanImage = AssetManager.getInstance().getImage("/assets/tempatmakan.png");
         } catch (Exception e) {
             // Tangani error jika gambar gagal dimuat
-            System.err.println("Failed to load cat images: " + e.getMessage());
+            LOG.error("Failed to load cat images: {}", e.getMessage());
         }
-    } // Method untuk memulai game loop
-
-    public void startGameLoop() {
-        gameLoopTimer.start(); // Mulai timer game loop
+        StartupTrace.span("asset_decode:cat", traceStart);
     }
 
     // Method untuk inisialisasi object kucing
@@ -162,24 +186,7 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
                 catImageX, catImageHand);
     }
 
-    // Method untuk setup timer animasi
-    private void setupAnimationTimer() {
-        animationTimer = new Timer(1000 / 60, this); // Timer animasi 60 FPS
-    }
-
-    // Method untuk memulai animasi
-    public void startAnimation() {
-        if (!animationTimer.isRunning()) {
-            animationTimer.start(); // Mulai timer animasi jika belum berjalan
-        }
-    }
-
-    // Method untuk menghentikan animasi
-    public void stopAnimation() {
-        if (animationTimer.isRunning()) {
-            animationTimer.stop(); // Hentikan timer animasi jika sedang berjalan
-        }
-    } // Method untuk set dimensi panel game
+    // Method untuk set dimensi panel game
 
     public void setPanelDimensions(int width, int height) {
         // Simpan nilai lama untuk property change
@@ -344,9 +351,11 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
                 kucing.getPosY() + kucing.getHeight() > y;
     }
 
-    // Method utama untuk update game (dipanggil oleh timer)
+    // Method utama untuk update game (dipanggil GameViewModel dua kali setiap langkah)
     @Override
     public void actionPerformed(ActionEvent e) {
+        FrameProfiler.begin(FrameProfiler.Section.KUCING_TICK);
+        TICKS.inc();
         // Update pergerakan kucing berdasarkan velocity
         if (kucing != null && panelWidth > 0 && panelHeight > 0) {
             // Ambil posisi kucing saat ini
@@ -386,11 +395,9 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
             updateCarriedFish(); // Update posisi ikan yang dibawa
             checkTempatMakanInteraction(); // Cek interaksi dengan tempat makan
 
-            // Spawn ikan baru jika jumlah ikan kurang dari minimum
-            fishSpawnTimer++; // Increment timer spawn ikan
-            if (fishSpawnTimer >= FISH_SPAWN_INTERVAL && listIkan.size() < MIN_FISH) {
-                spawnRandomFish(); // Spawn ikan baru
-                fishSpawnTimer = 0; // Reset timer spawn
+            // Spawn ikan pengisi berjalan lewat TimingWheel (refillFish)
+            if (ownsScheduler) {
+                scheduler.advance();
             }
 
             // Fire property change untuk notifikasi perubahan posisi kucing
@@ -399,6 +406,7 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
 
         // Notify semua view untuk repaint
         support.firePropertyChange("animationUpdate", false, true);
+        FrameProfiler.end(FrameProfiler.Section.KUCING_TICK);
     }
 
     // Method untuk mendapatkan data kucing untuk view
@@ -550,6 +558,14 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
         support.removePropertyChangeListener(listener); // Hapus listener
     }
 
+    // Melepas semua listener, ViewModel tidak dipakai lagi setelah ini
+    @Override
+    public void dispose() {
+        for (PropertyChangeListener listener : support.getPropertyChangeListeners()) {
+            support.removePropertyChangeListener(listener);
+        }
+    }
+
     // Method untuk akses ke model kucing (untuk keperluan GameViewModel)
     public Kucing getModel() {
         return kucing; // Return object kucing
@@ -598,6 +614,22 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
         for (int i = 0; i < MIN_FISH; i++) {
             spawnRandomFish(); // Spawn ikan secara random
         }
+        scheduleRefill();
+    }
+
+    // Jadwalkan spawn pengisi jika ikan kurang dari minimum dan belum terjadwal
+    private void scheduleRefill() {
+        if (listIkan.size() < MIN_FISH && (refillTimeout == null || !refillTimeout.isPending())) {
+            refillTimeout = scheduler.schedule(FISH_SPAWN_INTERVAL, this::refillFish);
+        }
+    }
+
+    // Spawn satu ikan pengisi (event TimingWheel), lalu jadwalkan lagi jika masih kurang
+    private void refillFish() {
+        if (listIkan.size() < MIN_FISH) {
+            spawnRandomFish();
+        }
+        scheduleRefill();
     }
 
     // Method untuk spawn ikan baru secara random
@@ -616,17 +648,26 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
         int minY = ZONE_TOP_LIMIT + margin; // Batas atas spawn (zona hijau)
         int maxY = ZONE_BOTTOM_LIMIT - fishHeight - margin; // Batas bawah spawn (zona hijau)
 
-        // Generate posisi random dalam zona hijau
-        int x = random.nextInt(maxX - minX) + minX; // Posisi X random
-        int y = random.nextInt(maxY - minY) + minY; // Posisi Y random
+        if (maxX <= minX || maxY <= minY) {
+            return; // Panel terlalu kecil untuk zona spawn
+        }
+        if (greenZoneSpawner == null || spawnerPanelWidth != panelWidth || spawnerPanelHeight != panelHeight) {
+            greenZoneSpawner = new FishSpawner(random, fishWidth, fishHeight, 0,
+                    new int[] { minX, minY, maxX - minX, maxY - minY });
+            spawnerPanelWidth = panelWidth;
+            spawnerPanelHeight = panelHeight;
+        }
 
-        // Pastikan ikan tidak spawn terlalu dekat dengan kucing
+        // Pastikan ikan tidak spawn terlalu dekat dengan kucing (kurang dari 100 pixel di kedua sumbu).
+        // Jumlah kandidat dibatasi: jika kucing menutupi seluruh zona, spawn dilewati
         if (kucing != null) {
-            while (Math.abs(x - kucing.getPosX()) < 100 && Math.abs(y - kucing.getPosY()) < 100) {
-                x = random.nextInt(maxX - minX) + minX; // Generate ulang posisi X
-                y = random.nextInt(maxY - minY) + minY; // Generate ulang posisi Y
-            }
+            greenZoneSpawner.exclude(kucing.getPosX() - 99, kucing.getPosY() - 99, 199, 199);
+        }
+        if (!greenZoneSpawner.spawn(0)) {
+            return;
         }
+        int x = greenZoneSpawner.getSpawnX();
+        int y = greenZoneSpawner.getSpawnY();
 
         // Pilih tipe ikan secara random dari 3 pilihan (0, 1, 2)
         int randomFishType = random.nextInt(3);
@@ -738,8 +779,89 @@ public class KucingViewModelNew implements ActionListener { // Konstanta untuk z
 
                 // Spawn ikan baru untuk mengganti yang sudah diantarkan
                 spawnRandomFish();
+                scheduleRefill();
+            }
+        }
+    }
+
+    // Daftar ikan di zona hijau (package-private untuk benchmark JMH)
+    List<Ikan> getListIkan() {
+        return listIkan;
+    }
+
+    // Tulis state untuk GameSnapshot: kucing, state tangan, ikan di zona hijau
+    void writeState(VarintOutput out) {
+        out.writeFixedLong(random.getState());
+        out.writeZigzag(kucing.getPosX());
+        out.writeZigzag(kucing.getPosY());
+        out.writeVarint(kucing.getWidth());
+        out.writeVarint(kucing.getHeight());
+        out.writeZigzag(kucing.getVelocityX());
+        out.writeZigzag(kucing.getVelocityY());
+        out.writeVarint(facingIndex(kucing.getFacingImage()));
+        out.writeBoolean(kucing.isHandActive());
+        out.writeBoolean(kucing.isHandReturning());
+        out.writeBoolean(kucing.isHandDelivering());
+        out.writeZigzag(kucing.getHandTargetX());
+        out.writeZigzag(kucing.getHandTargetY());
+        out.writeZigzag(kucing.getHandAnimX());
+        out.writeZigzag(kucing.getHandAnimY());
+        out.writeZigzag(handTargetX);
+        out.writeZigzag(handTargetY);
+        out.writeVarint(refillTimeout != null ? refillTimeout.remainingTicks() : 0);
+        out.writeVarint(fishDelivered);
+        GameSnapshot.writeIkanList(out, listIkan);
+        GameSnapshot.writeIkanRef(out, listIkan, carriedFish);
+        out.writeBoolean(isCarryingFish);
+    }
+
+    // Baca state dari GameSnapshot, urutan sama dengan writeState
+    void readState(VarintInput in) throws IOException {
+        random.setState(in.readFixedLong());
+        kucing.setPosX(in.readZigzag());
+        kucing.setPosY(in.readZigzag());
+        kucing.setWidth(in.readUnsignedInt());
+        kucing.setHeight(in.readUnsignedInt());
+        kucing.setVelocityX(in.readZigzag());
+        kucing.setVelocityY(in.readZigzag());
+        Image[] facings = facingImages();
+        int facing = in.readUnsignedInt();
+        if (facing >= facings.length) {
+            throw new IOException("Invalid cat facing: " + facing);
+        }
+        kucing.setCurrentImage(facings[facing]);
+        kucing.restoreHandState(in.readBoolean(), in.readBoolean(), in.readBoolean(),
+                in.readZigzag(), in.readZigzag(), in.readZigzag(), in.readZigzag());
+        handTargetX = in.readZigzag();
+        handTargetY = in.readZigzag();
+        int refillDelay = in.readUnsignedInt();
+        fishDelivered = in.readUnsignedInt();
+        listIkan.clear();
+        listIkan.addAll(GameSnapshot.readIkanList(in));
+        carriedFish = GameSnapshot.readIkanRef(in, listIkan);
+        isCarryingFish = in.readBoolean();
+        if (refillTimeout != null) {
+            refillTimeout.cancel();
+        }
+        if (refillDelay > 0) {
+            refillTimeout = scheduler.schedule(refillDelay, this::refillFish);
+        }
+        support.firePropertyChange("kucingPosition", null, kucing);
+    }
+
+    // Gambar arah kucing, urutannya dipakai sebagai indeks di snapshot
+    private Image[] facingImages() {
+        return new Image[] { catImageRight, catImageLeft, catImageUp, catImageDown, catImageX };
+    }
+
+    private int facingIndex(Image image) {
+        Image[] facings = facingImages();
+        for (int i = 0; i < facings.length; i++) {
+            if (facings[i] == image) {
+                return i;
             }
         }
+        return 0;
     }
 
     // Method untuk mendapatkan status apakah kucing sedang membawa ikan
@@ -0,0 +1,109 @@
+package viewmodel;
+
+import util.Lifecycle;
+import util.Metrics;
+import javax.swing.Timer;
+
+/**
+ * RealtimeClock - Clock yang mengikuti jam dinding dengan skala waktu
+ *
+ * Satu Swing Timer (di EDT) berdetak sekitar 60 kali per detik; setiap detak
+ * menghitung berapa langkah yang jatuh tempo dari System.nanoTime() dikali
+ * skala, lalu menjalankannya. Skala 1 = kecepatan normal, 0.25 = slow-mo,
+ * 10 = sepuluh kali lebih cepat. Karena langkah dihitung dari waktu yang
+ * berlalu, detak timer yang terlambat dikejar tanpa mengubah kecepatan game.
+ *
+ * Jika tertinggal terlalu jauh (misalnya EDT macet), sisa langkah dibuang
+ * agar game tidak berlari kencang untuk mengejar; jumlahnya dicatat di
+ * metric clock.skipped_steps.
+ */
+public class RealtimeClock implements GameClock {
+    private static final long STEP_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+    private static final int TIMER_DELAY_MS = 1000 / TICKS_PER_SECOND;
+    // Batas langkah per detak pada skala 1 (sekitar 5 frame)
+    private static final int MAX_CATCH_UP = 5;
+
+    private static final Metrics.Counter SKIPPED_STEPS = Metrics.counter("clock.skipped_steps");
+
+    private final double scale;
+    private final int maxStepsPerTick;
+    private final Lifecycle lifecycle = new Lifecycle();
+    private final Timer timer;
+    private Runnable step;
+    private boolean running = false;
+    private long lastNanos;
+    private long pendingNanos; // Waktu game (sudah dikali skala) yang belum dijadikan langkah
+
+    public RealtimeClock(double scale) {
+        if (!(scale > 0)) {
+            throw new IllegalArgumentException("clock scale must be positive: " + scale);
+        }
+        this.scale = scale;
+        this.maxStepsPerTick = (int) Math.ceil(MAX_CATCH_UP * Math.max(1, scale));
+        this.timer = lifecycle.createTimer(TIMER_DELAY_MS, e -> onTimer());
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    @Override
+    public void start(Runnable step) {
+        this.step = step;
+        if (!running) {
+            running = true;
+            lastNanos = System.nanoTime();
+            pendingNanos = 0;
+            timer.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        timer.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int advance(int steps) {
+        int done = 0;
+        while (done < steps && running) {
+            step.run();
+            done++;
+        }
+        return done;
+    }
+
+    @Override
+    public boolean isRealtime() {
+        return true;
+    }
+
+    @Override
+    public void dispose() {
+        running = false;
+        lifecycle.dispose();
+        step = null;
+    }
+
+    // Detak timer: jalankan langkah yang sudah jatuh tempo
+    private void onTimer() {
+        long now = System.nanoTime();
+        pendingNanos += (long) ((now - lastNanos) * scale);
+        lastNanos = now;
+
+        long due = pendingNanos / STEP_NANOS;
+        if (due > maxStepsPerTick) {
+            SKIPPED_STEPS.add(due - maxStepsPerTick);
+            pendingNanos -= (due - maxStepsPerTick) * STEP_NANOS;
+            due = maxStepsPerTick;
+        }
+        pendingNanos -= due * STEP_NANOS;
+        advance((int) due);
+    }
+}
@@ -0,0 +1,49 @@
+package viewmodel;
+
+/**
+ * SteppedClock - Clock virtual tanpa timer, maju hanya lewat advance()
+ *
+ * Dipakai simulasi headless, replay, dan benchmark: tidak ada sleep dan tidak
+ * ada thread lain, jadi kecepatan hanya dibatasi CPU.
+ */
+public class SteppedClock implements GameClock {
+    private Runnable step;
+    private boolean running = false;
+
+    @Override
+    public void start(Runnable step) {
+        this.step = step;
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int advance(int steps) {
+        int done = 0;
+        while (done < steps && running) {
+            step.run();
+            done++;
+        }
+        return done;
+    }
+
+    @Override
+    public boolean isRealtime() {
+        return false;
+    }
+
+    @Override
+    public void dispose() {
+        running = false;
+        step = null;
+    }
+}
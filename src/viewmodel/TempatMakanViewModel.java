@@ -1,11 +1,12 @@
 package viewmodel;
 
 import model.TempatMakan;
+import util.Disposable;
 import java.awt.Image;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 
-public class TempatMakanViewModel {
+public class TempatMakanViewModel implements Disposable {
     private TempatMakan tempatMakan;
     private PropertyChangeSupport support;
 
@@ -96,6 +97,14 @@ public class TempatMakanViewModel {
         support.removePropertyChangeListener(listener);
     }
 
+    // Melepas semua listener
+    @Override
+    public void dispose() {
+        for (PropertyChangeListener listener : support.getPropertyChangeListeners()) {
+            support.removePropertyChangeListener(listener);
+        }
+    }
+
     // Getter untuk model (jika diperlukan)
     public TempatMakan getModel() {
         return tempatMakan;